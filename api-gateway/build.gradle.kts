@@ -22,6 +22,8 @@ dependencies {
     implementation(libs.spring.boot.starter.aop)
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-reactor-resilience4j")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation(libs.java.jwt)
 
     compileOnly("org.projectlombok:lombok")
 
@@ -33,6 +35,9 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     mockitoAgent(libs.mockito) { isTransitive = false }
     testImplementation("io.projectreactor:reactor-test")
+    testImplementation("org.projectlombok:lombok")
+
+    testAnnotationProcessor("org.projectlombok:lombok")
 
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
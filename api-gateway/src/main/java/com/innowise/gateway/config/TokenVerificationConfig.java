@@ -0,0 +1,32 @@
+package com.innowise.gateway.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings of access token verification. In {@link Mode#LOCAL} mode tokens are verified with the
+ * shared {@link #accessKeys}, given as {@code kid:secret[,kid:secret...]} like in auth-service, or
+ * without them with the legacy single {@link #accessKey}, taken as a whole; {@link Mode#REMOTE}
+ * asks auth-service instead and is also used when no key is configured. Verified tokens are
+ * cached until they expire, rejected ones for {@link #negativeTtl}.
+ */
+@Configuration
+@ConfigurationProperties("auth.token-verification")
+@Data
+public class TokenVerificationConfig {
+
+  private Mode mode = Mode.LOCAL;
+  private String accessKeys = "";
+  private String accessKey = "";
+  private String issuer = "auth-service";
+  private long maximumSize = 100_000;
+  private Duration negativeTtl = Duration.ofSeconds(30);
+
+  public enum Mode {
+    LOCAL,
+    REMOTE
+  }
+
+}
@@ -1,7 +1,11 @@
 package com.innowise.gateway.filter;
 
+import com.auth0.jwt.JWT;
 import com.innowise.common.exception.ExternalApiException;
-import com.innowise.gateway.service.client.AuthServiceClient;
+import com.innowise.common.model.dto.ErrorDto;
+import com.innowise.gateway.service.TokenVerifier;
+import java.util.List;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -12,18 +16,24 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import tools.jackson.databind.json.JsonMapper;
 
+/**
+ * Lets a request through once its bearer token is verified. Routes may list {@link Config#roles}
+ * as in {@code Authorization=ADMIN,SUPER_ADMIN}, then the token must also carry one of them.
+ */
 @Component
 @Slf4j
 public class AuthorizationGatewayFilterFactory extends
     AbstractGatewayFilterFactory<AuthorizationGatewayFilterFactory.Config> {
 
+  private static final String USER_ROLES_CLAIM = "roles";
+
   private final JsonMapper jsonMapper;
-  private final AuthServiceClient authServiceClient;
+  private final TokenVerifier tokenVerifier;
 
-  public AuthorizationGatewayFilterFactory(AuthServiceClient authServiceClient,
+  public AuthorizationGatewayFilterFactory(TokenVerifier tokenVerifier,
       JsonMapper jsonMapper) {
     super(Config.class);
-    this.authServiceClient = authServiceClient;
+    this.tokenVerifier = tokenVerifier;
     this.jsonMapper = jsonMapper;
   }
 
@@ -38,11 +48,14 @@ public class AuthorizationGatewayFilterFactory extends
         return Mono.empty();
       }
       var token = tokenHeaderVal.substring(7);
-      return authServiceClient.validate(token)
+      return tokenVerifier.verify(token)
+          .then(Mono.fromRunnable(() -> checkRoles(token, config.getRoles())))
           .then(chain.filter(exchange))
           .onErrorResume(thr -> {
             if (thr instanceof ExternalApiException externalApiException) {
-              response.setStatusCode(HttpStatus.UNAUTHORIZED);
+              var forbidden = externalApiException.getErrorDto() != null
+                  && externalApiException.getErrorDto().status() == HttpStatus.FORBIDDEN.value();
+              response.setStatusCode(forbidden ? HttpStatus.FORBIDDEN : HttpStatus.UNAUTHORIZED);
               if (externalApiException.getErrorDto() != null) {
                 response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
                 return response.writeWith(
@@ -61,6 +74,31 @@ public class AuthorizationGatewayFilterFactory extends
     };
   }
 
+  @Override
+  public ShortcutType shortcutType() {
+    return ShortcutType.GATHER_LIST;
+  }
+
+  @Override
+  public List<String> shortcutFieldOrder() {
+    return List.of("roles");
+  }
+
+  private void checkRoles(String token, List<String> roles) {
+    if (roles.isEmpty()) {
+      return;
+    }
+    // the token is verified at this point, its claims can be trusted
+    var tokenRoles = JWT.decode(token).getClaim(USER_ROLES_CLAIM).asList(String.class);
+    if (tokenRoles == null || tokenRoles.stream().noneMatch(roles::contains)) {
+      throw new ExternalApiException(ErrorDto.forbidden("One of roles " + roles + " is required"));
+    }
+  }
+
+  @Data
   public static class Config {
+
+    private List<String> roles = List.of();
+
   }
 }
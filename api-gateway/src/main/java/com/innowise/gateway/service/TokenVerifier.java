@@ -0,0 +1,160 @@
+package com.innowise.gateway.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.innowise.common.exception.ExternalApiException;
+import com.innowise.common.model.dto.ErrorDto;
+import com.innowise.common.util.KeySetParser;
+import com.innowise.gateway.config.TokenVerificationConfig;
+import com.innowise.gateway.config.TokenVerificationConfig.Mode;
+import com.innowise.gateway.service.client.AuthServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies access tokens for the gateway. Tokens are verified locally with the same checks as
+ * auth-service or, as a fallback, by auth-service itself. Verdicts are cached by the SHA-256 of
+ * the token: accepted tokens until they expire, rejected ones for a short negative TTL.
+ */
+@Component
+@Slf4j
+public class TokenVerifier {
+
+  private static final String USER_SERVICE_ID_CLAIM = "id";
+  private static final String USER_ROLES_CLAIM = "roles";
+
+  private final AuthServiceClient authServiceClient;
+  private final Map<String, JWTVerifier> jwtVerifiers;
+  private final Cache<String, Instant> verifiedTokens;
+  private final Cache<String, ErrorDto> rejectedTokens;
+
+  public TokenVerifier(AuthServiceClient authServiceClient,
+      TokenVerificationConfig tokenVerificationConfig, MeterRegistry meterRegistry) {
+    this.authServiceClient = authServiceClient;
+    this.jwtVerifiers = createJwtVerifiers(tokenVerificationConfig);
+    this.verifiedTokens = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+        .maximumSize(tokenVerificationConfig.getMaximumSize())
+        .expireAfter(Expiry.<String, Instant>creating((_, expiresAt) ->
+            Duration.between(Instant.now(), expiresAt)))
+        .recordStats()
+        .<String, Instant>build(), "verified-tokens");
+    this.rejectedTokens = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+        .maximumSize(tokenVerificationConfig.getMaximumSize())
+        .expireAfterWrite(tokenVerificationConfig.getNegativeTtl())
+        .recordStats()
+        .<String, ErrorDto>build(), "rejected-tokens");
+  }
+
+  public Mono<Void> verify(String accessToken) {
+    var key = hash(accessToken);
+    if (verifiedTokens.getIfPresent(key) != null) {
+      return Mono.empty();
+    }
+    var rejection = rejectedTokens.getIfPresent(key);
+    if (rejection != null) {
+      return Mono.error(new ExternalApiException(rejection));
+    }
+    var verification = jwtVerifiers.isEmpty()
+        ? authServiceClient.validate(accessToken)
+        : Mono.<Void>fromRunnable(() -> verifyLocally(accessToken));
+    return verification
+        .doOnSuccess(_ -> cacheVerified(key, accessToken))
+        .doOnError(ExternalApiException.class, e -> {
+          if (e.getErrorDto() != null) {
+            rejectedTokens.put(key, e.getErrorDto());
+          }
+        });
+  }
+
+  private void verifyLocally(String accessToken) {
+    try {
+      var decodedJwt = JWT.decode(accessToken);
+      var keyId = decodedJwt.getKeyId();
+      var verifier = keyId == null
+          ? jwtVerifiers.values().iterator().next()
+          : jwtVerifiers.get(keyId);
+      if (verifier == null) {
+        throw new JWTVerificationException("Unknown key id " + keyId);
+      }
+      verifier.verify(decodedJwt);
+    } catch (JWTVerificationException e) {
+      log.debug("JWT access token verification failed: {}", e.getMessage());
+      throw new ExternalApiException(ErrorDto.authFailed(switch (e) {
+        case TokenExpiredException expiredEx -> "Token expired at " + expiredEx.getExpiredOn();
+        case JWTDecodeException _ -> "Token is malformed: Malformed JWT structure";
+        case SignatureVerificationException _ -> "Token signature is invalid";
+        default -> "Token validation failed";
+      }));
+    }
+  }
+
+  private void cacheVerified(String key, String accessToken) {
+    try {
+      var expiresAt = JWT.decode(accessToken).getExpiresAtAsInstant();
+      if (expiresAt != null) {
+        verifiedTokens.put(key, expiresAt);
+      }
+    } catch (JWTDecodeException e) {
+      log.debug("Verified token has no readable expiration, not caching it", e);
+    }
+  }
+
+  private static Map<String, JWTVerifier> createJwtVerifiers(TokenVerificationConfig config) {
+    if (config.getMode() == Mode.REMOTE) {
+      return Map.of();
+    }
+    Map<String, String> secrets;
+    if (!config.getAccessKeys().isBlank()) {
+      secrets = KeySetParser.parse(config.getAccessKeys());
+    } else if (!config.getAccessKey().isBlank()) {
+      secrets = KeySetParser.parseLegacy(config.getAccessKey());
+    } else {
+      log.warn("No access keys configured, falling back to token verification by auth-service");
+      return Map.of();
+    }
+    // the first key is the one auth-service signs with; tokens without a kid belong to it
+    var verifiers = new LinkedHashMap<String, JWTVerifier>();
+    secrets.forEach((keyId, secret) -> verifiers.put(keyId, createJwtVerifier(config, secret)));
+    return Collections.unmodifiableMap(verifiers);
+  }
+
+  private static JWTVerifier createJwtVerifier(TokenVerificationConfig config, String secret) {
+    return JWT.require(Algorithm.HMAC256(secret.getBytes(StandardCharsets.UTF_8)))
+        .withIssuer(config.getIssuer())
+        .withClaimPresence(USER_SERVICE_ID_CLAIM)
+        .withClaimPresence(USER_ROLES_CLAIM)
+        .withClaim("type", "access")
+        .build();
+  }
+
+  private static String hash(String accessToken) {
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(
+          MessageDigest.getInstance("SHA-256")
+              .digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
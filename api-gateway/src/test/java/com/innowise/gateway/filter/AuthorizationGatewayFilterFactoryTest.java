@@ -0,0 +1,102 @@
+package com.innowise.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.gateway.filter.AuthorizationGatewayFilterFactory.Config;
+import com.innowise.gateway.service.TokenVerifier;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationGatewayFilterFactoryTest {
+
+  @Mock
+  private TokenVerifier tokenVerifier;
+
+  private AuthorizationGatewayFilterFactory filterFactory;
+  private AtomicBoolean passed;
+  private GatewayFilterChain chain;
+
+  @BeforeEach
+  void prepareFilterFactory() {
+    filterFactory = new AuthorizationGatewayFilterFactory(tokenVerifier,
+        JsonMapper.builder().build());
+    passed = new AtomicBoolean();
+    chain = _ -> Mono.fromRunnable(() -> passed.set(true));
+  }
+
+  @Test
+  void apply_tokenHasRequiredRole_passRequest() {
+    var exchange = exchange("ADMIN");
+    when(tokenVerifier.verify(anyString())).thenReturn(Mono.empty());
+
+    StepVerifier.create(filterFactory.apply(config("ADMIN", "SUPER_ADMIN"))
+            .filter(exchange, chain))
+        .verifyComplete();
+
+    assertThat(passed).isTrue();
+    assertThat(exchange.getResponse().getStatusCode()).isNull();
+  }
+
+  @Test
+  void apply_tokenLacksRequiredRole_respondForbidden() {
+    var exchange = exchange("USER");
+    when(tokenVerifier.verify(anyString())).thenReturn(Mono.empty());
+
+    StepVerifier.create(filterFactory.apply(config("ADMIN", "SUPER_ADMIN"))
+            .filter(exchange, chain))
+        .verifyComplete();
+
+    assertThat(passed).isFalse();
+    assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+  }
+
+  @Test
+  void apply_noRequiredRoles_passAnyVerifiedToken() {
+    var exchange = exchange("USER");
+    when(tokenVerifier.verify(anyString())).thenReturn(Mono.empty());
+
+    StepVerifier.create(filterFactory.apply(new Config()).filter(exchange, chain))
+        .verifyComplete();
+
+    assertThat(passed).isTrue();
+  }
+
+  private static Config config(String... roles) {
+    var config = new Config();
+    config.setRoles(List.of(roles));
+    return config;
+  }
+
+  private static MockServerWebExchange exchange(String role) {
+    var token = JWT.create()
+        .withExpiresAt(Instant.now().plusSeconds(60))
+        .withIssuer("auth-service")
+        .withSubject("1")
+        .withClaim("id", 1L)
+        .withArrayClaim("roles", new String[]{role})
+        .withClaim("type", "access")
+        .sign(Algorithm.HMAC256("test-access-key"));
+    return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/payments/revenue")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+  }
+
+}
@@ -0,0 +1,76 @@
+package com.innowise.gateway.integration.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.common.exception.ExternalApiException;
+import com.innowise.gateway.integration.annotation.IT;
+import com.innowise.gateway.service.TokenVerifier;
+import com.innowise.gateway.service.client.AuthServiceClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.test.StepVerifier;
+
+@IT
+@RequiredArgsConstructor
+class TokenVerifierIT {
+
+  // a legacy single secret, separators included
+  private static final String ACCESS_KEY = "test:access,key";
+
+  private final TokenVerifier tokenVerifier;
+
+  @MockitoBean
+  private AuthServiceClient authServiceClient;
+
+  @Test
+  void verify_validToken_verifiedLocally() {
+    var token = createAccessToken(ACCESS_KEY, Instant.now().plusSeconds(60));
+
+    StepVerifier.create(tokenVerifier.verify(token)).verifyComplete();
+    StepVerifier.create(tokenVerifier.verify(token)).verifyComplete();
+
+    verify(authServiceClient, never()).validate(anyString());
+  }
+
+  @Test
+  void verify_foreignSignature_rejected() {
+    var token = createAccessToken("other-key", Instant.now().plusSeconds(60));
+
+    StepVerifier.create(tokenVerifier.verify(token))
+        .expectError(ExternalApiException.class)
+        .verify();
+    StepVerifier.create(tokenVerifier.verify(token))
+        .expectError(ExternalApiException.class)
+        .verify();
+
+    verify(authServiceClient, never()).validate(anyString());
+  }
+
+  @Test
+  void verify_expiredToken_rejected() {
+    var token = createAccessToken(ACCESS_KEY, Instant.now().minusSeconds(60));
+
+    StepVerifier.create(tokenVerifier.verify(token))
+        .expectError(ExternalApiException.class)
+        .verify();
+  }
+
+  private String createAccessToken(String key, Instant expiresAt) {
+    return JWT.create()
+        .withExpiresAt(expiresAt)
+        .withIssuer("auth-service")
+        .withSubject("1")
+        .withClaim("id", 1L)
+        .withArrayClaim("roles", new String[]{"USER"})
+        .withClaim("type", "access")
+        .sign(Algorithm.HMAC256(key.getBytes(StandardCharsets.UTF_8)));
+  }
+
+}
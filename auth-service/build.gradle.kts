@@ -1,6 +1,7 @@
 plugins {
     id("org.springframework.boot") version "4.0.1"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 val springCloudVersion by extra("2025.1.0")
@@ -27,6 +28,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-restclient")
     implementation(libs.java.jwt)
     implementation(libs.bcrypt)
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
     implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-resilience4j")
     implementation(libs.spring.boot.starter.aop)
@@ -0,0 +1,79 @@
+package com.innowise.authservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Access token verification behind {@code /validate}: through {@link JwtKeyRing}, which builds the
+ * verifier once per key set, against building the algorithm and verifier for every token as
+ * before. Sample time mode reports the p50 and p99 latencies. Run with
+ * {@code ./gradlew :auth-service:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+  private static final String ISSUER = "auth-service";
+  private static final String ACCESS_KEY =
+      "6e4d3f160f46d03de0d5f3ac52d2e19797cbbe9ff71ab1c168ce31bb5d4df87e";
+
+  private JwtKeyRing keyRing;
+  private String accessToken;
+
+  @Setup
+  public void setUp() {
+    keyRing = new JwtKeyRing(() -> JwtKeyRing.DEFAULT_KEY_ID + ":" + ACCESS_KEY, () -> null,
+        TokenValidationBenchmark::accessTokenVerifier);
+    accessToken = keyRing.sign(JWT.create()
+        .withExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
+        .withIssuer(ISSUER)
+        .withSubject("1")
+        .withClaim("id", 1L)
+        .withArrayClaim("roles", new String[]{"USER"})
+        .withClaim("type", "access"));
+  }
+
+  @Benchmark
+  public DecodedJWT keyRing() {
+    return keyRing.verify(accessToken);
+  }
+
+  @Benchmark
+  public DecodedJWT verifierPerToken() {
+    return accessTokenVerifier(Algorithm.HMAC256(ACCESS_KEY.getBytes(StandardCharsets.UTF_8)))
+        .verify(accessToken);
+  }
+
+  // the access token checks of TokenServiceImpl
+  private static JWTVerifier accessTokenVerifier(Algorithm algorithm) {
+    return JWT.require(algorithm)
+        .withIssuer(ISSUER)
+        .withClaimPresence("id")
+        .withClaimPresence("roles")
+        .withClaim("type", "access")
+        .build();
+  }
+
+}
@@ -0,0 +1,50 @@
+package com.innowise.authservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.innowise.authservice.config.UserAuthCacheConfig;
+import com.innowise.authservice.model.dto.user.UserAuthDto;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of {@link UserAuthDto} by auth ID, mainly serving refresh-token exchanges.
+ * <p>
+ * Entries expire after the configured TTL and are bounded by size. Code that removes a user or
+ * changes its credentials or roles must call {@link #evict(Long)}; inside a transaction the entry
+ * is dropped once it commits, so a concurrent read cannot cache the old row again.
+ */
+@Component
+@NullMarked
+@RequiredArgsConstructor
+@Slf4j
+public class UserAuthCache {
+
+  private final Cache<Long, UserAuthDto> userAuthDtoCache;
+  private final UserAuthCacheConfig userAuthCacheConfig;
+
+  public UserAuthDto findById(Long id, Function<Long, UserAuthDto> loader) {
+    if (!userAuthCacheConfig.isEnabled()) {
+      return loader.apply(id);
+    }
+    return userAuthDtoCache.get(id, loader);
+  }
+
+  public void evict(Long id) {
+    log.debug("Evicting UserAuth (id={}) from cache", id);
+    userAuthDtoCache.invalidate(id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          userAuthDtoCache.invalidate(id);
+        }
+      });
+    }
+  }
+
+}
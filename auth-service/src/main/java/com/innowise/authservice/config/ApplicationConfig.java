@@ -3,8 +3,10 @@ package com.innowise.authservice.config;
 import feign.Logger;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
   @Bean
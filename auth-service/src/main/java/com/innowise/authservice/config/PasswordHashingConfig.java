@@ -0,0 +1,46 @@
+package com.innowise.authservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings of the executor BCrypt hashing runs on. At most {@link #threads} hashes run at once and
+ * {@link #queueCapacity} more may wait; anything beyond that is answered with 503 and a
+ * {@code Retry-After} of {@link #retryAfter}.
+ */
+@Configuration
+@ConfigurationProperties("password-hashing")
+@Data
+@NullMarked
+public class PasswordHashingConfig {
+
+  private int cost = 12;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int queueCapacity = 64;
+  private Duration retryAfter = Duration.ofSeconds(1);
+
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry) {
+    var executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        Thread.ofPlatform().name("password-hashing-", 0).factory(),
+        new ThreadPoolExecutor.AbortPolicy()
+    );
+    return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+  }
+
+}
@@ -1,8 +1,11 @@
 package com.innowise.authservice.config;
 
+import com.innowise.auth.security.filter.JwtAuthenticationConverter;
 import com.innowise.auth.security.filter.JwtAuthenticationFilter;
 import com.innowise.auth.security.provider.AuthTokenProvider;
 import com.innowise.authservice.security.CustomBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,10 +31,19 @@ public class SecurityConfig {
 
   private final AuthenticationManager authenticationManager;
   private final AuthTokenProvider authTokenProvider;
+  private final JwtAuthenticationConverter jwtAuthenticationConverter;
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new CustomBCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      PasswordHashingConfig passwordHashingConfig,
+      ExecutorService passwordHashingExecutor,
+      MeterRegistry meterRegistry
+  ) {
+    return new CustomBCryptPasswordEncoder(
+        passwordHashingConfig.getCost(),
+        passwordHashingExecutor,
+        meterRegistry
+    );
   }
 
   @Bean
@@ -50,7 +62,8 @@ public class SecurityConfig {
             new JwtAuthenticationFilter(
                 PathPatternRequestMatcher.pathPattern("/api/v1/auth/users/**"),
                 authenticationManager,
-                authTokenProvider
+                authTokenProvider,
+                jwtAuthenticationConverter
             ),
             LogoutFilter.class
         )
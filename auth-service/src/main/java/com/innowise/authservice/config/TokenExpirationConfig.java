@@ -0,0 +1,27 @@
+package com.innowise.authservice.config;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lifetimes of issued tokens, bound once at startup. Plain numbers are taken as seconds, like the
+ * {@code JWT_EXPIRATION} and {@code JWT_REFRESH_EXPIRATION} variables they come from.
+ */
+@Configuration
+@ConfigurationProperties("jwt.expiration")
+@Data
+@NullMarked
+public class TokenExpirationConfig {
+
+  @DurationUnit(ChronoUnit.SECONDS)
+  private Duration access = Duration.ofMinutes(15);
+
+  @DurationUnit(ChronoUnit.SECONDS)
+  private Duration refresh = Duration.ofDays(7);
+
+}
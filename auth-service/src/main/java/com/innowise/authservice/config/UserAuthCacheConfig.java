@@ -0,0 +1,37 @@
+package com.innowise.authservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.authservice.model.dto.user.UserAuthDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties("users.cache")
+@Data
+@NullMarked
+public class UserAuthCacheConfig {
+
+  public static final String USER_AUTH_CACHE = "user-auths";
+
+  private boolean enabled = true;
+  private long maximumSize = 10_000;
+  private Duration ttl = Duration.ofMinutes(5);
+
+  @Bean
+  public Cache<Long, UserAuthDto> userAuthDtoCache(MeterRegistry meterRegistry) {
+    Cache<Long, UserAuthDto> cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    return CaffeineCacheMetrics.monitor(meterRegistry, cache, USER_AUTH_CACHE);
+  }
+
+}
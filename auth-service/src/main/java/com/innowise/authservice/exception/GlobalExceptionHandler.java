@@ -1,5 +1,6 @@
 package com.innowise.authservice.exception;
 
+import com.innowise.authservice.config.PasswordHashingConfig;
 import com.innowise.common.exception.ResourceAlreadyExistsException;
 import com.innowise.common.exception.ResourceNotFoundException;
 import com.innowise.common.model.dto.ErrorDto;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.http.HttpHeaders;
@@ -24,9 +26,10 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @ControllerAdvice
 @NullMarked
 @Slf4j
+@RequiredArgsConstructor
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
-    private static final Map<String, Integer> CONSTRAINT_PRIORITY = Map.of(
+  private static final Map<String, Integer> CONSTRAINT_PRIORITY = Map.of(
       "NotNull", 1,
       "NotBlank", 1,
       "Size", 2,
@@ -34,6 +37,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
       "Email", 2
   );
 
+  private final PasswordHashingConfig passwordHashingConfig;
+
   @ExceptionHandler(value = {RuntimeException.class})
   public ResponseEntity<ErrorDto> handleRuntimeException(RuntimeException ex,
       HttpServletRequest request) {
@@ -62,6 +67,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         .body(ErrorDto.authFailed(ex.getMessage()));
   }
 
+  @ExceptionHandler(value = {PasswordHashingRejectedException.class})
+  public ResponseEntity<ErrorDto> handlePasswordHashingRejectedException(
+      PasswordHashingRejectedException ex,
+      HttpServletRequest request
+  ) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER,
+            String.valueOf(passwordHashingConfig.getRetryAfter().toSeconds()))
+        .body(ErrorDto.unavailable(ex.getMessage(), request.getRequestURI()));
+  }
+
   @ExceptionHandler(value = {AuthorizationDeniedException.class})
   public ResponseEntity<ErrorDto> handleAuthorizationDeniedException(
       AuthorizationDeniedException ex,
@@ -0,0 +1,14 @@
+package com.innowise.authservice.exception;
+
+import java.io.Serial;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 2846310597724553187L;
+
+  public PasswordHashingRejectedException(Throwable cause) {
+    super("Too many password hashing requests", cause);
+  }
+
+}
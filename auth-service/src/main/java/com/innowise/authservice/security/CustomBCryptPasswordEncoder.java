@@ -4,26 +4,64 @@ import at.favre.lib.crypto.bcrypt.BCrypt;
 import at.favre.lib.crypto.bcrypt.BCrypt.Version;
 import at.favre.lib.crypto.bcrypt.LongPasswordStrategies;
 import at.favre.lib.crypto.bcrypt.LongPasswordStrategy;
+import com.innowise.authservice.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+/**
+ * BCrypt encoder that hashes on a dedicated executor instead of the calling thread. When the
+ * executor refuses a task because its queue is full, {@link PasswordHashingRejectedException} is
+ * thrown right away, so a burst of logins cannot occupy every request thread. Time spent waiting in
+ * the queue and hashing is recorded per operation.
+ */
 public class CustomBCryptPasswordEncoder implements PasswordEncoder {
 
-  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final ThreadLocal<SecureRandom> RANDOM =
+      ThreadLocal.withInitial(SecureRandom::new);
 
   private static final int SALT_LENGTH = 16;
+  private static final Pattern HASH_COST = Pattern.compile("\\$2[abxy]?\\$(\\d{2})\\$");
 
   private static final BCrypt.Version VERSION = Version.VERSION_2Y;
   private static final LongPasswordStrategy LONG_PASSWORD_STRATEGY =
       LongPasswordStrategies.hashSha512(VERSION);
-  private static final int ITERATIONS = 12;
 
+  private final int cost;
+  private final Executor hashingExecutor;
+  private final HashingMeters encodeMeters;
+  private final HashingMeters matchesMeters;
 
+  public CustomBCryptPasswordEncoder(int cost, Executor hashingExecutor,
+      MeterRegistry meterRegistry) {
+    this.cost = cost;
+    this.hashingExecutor = hashingExecutor;
+    this.encodeMeters = HashingMeters.of(meterRegistry, "encode");
+    this.matchesMeters = HashingMeters.of(meterRegistry, "matches");
+  }
+
+  /**
+   * Reports hashes whose cost differs from the configured one, including hashes that cannot be
+   * parsed, so they are rehashed on the next successful login.
+   */
   @Override
   public boolean upgradeEncoding(@Nullable String encodedPassword) {
-    return false;
+    if (encodedPassword == null) {
+      return false;
+    }
+    var matcher = HASH_COST.matcher(encodedPassword);
+    return !matcher.lookingAt() || Integer.parseInt(matcher.group(1)) != cost;
   }
 
   @Override
@@ -31,10 +69,11 @@ public class CustomBCryptPasswordEncoder implements PasswordEncoder {
     if (rawPassword == null) {
       throw new IllegalArgumentException("RawPassword cannot be null");
     }
-    return new String(BCrypt
-        .with(VERSION, RANDOM, LONG_PASSWORD_STRATEGY)
-        .hash(ITERATIONS, generateSalt(), rawPassword.toString().getBytes())
-    );
+    var password = rawPassword.toString().getBytes();
+    return hash(encodeMeters, () -> new String(BCrypt
+        .with(VERSION, RANDOM.get(), LONG_PASSWORD_STRATEGY)
+        .hash(cost, generateSalt(), password)
+    ));
   }
 
   @Override
@@ -45,15 +84,55 @@ public class CustomBCryptPasswordEncoder implements PasswordEncoder {
     if (encodedPassword == null) {
       throw new IllegalArgumentException("EncodedPassword cannot be null");
     }
-    return BCrypt
+    var password = rawPassword.toString().getBytes(StandardCharsets.UTF_8);
+    return hash(matchesMeters, () -> BCrypt
         .verifyer(VERSION, LONG_PASSWORD_STRATEGY)
-        .verify(rawPassword.toString().getBytes(StandardCharsets.UTF_8), encodedPassword.getBytes())
-        .verified;
+        .verify(password, encodedPassword.getBytes())
+        .verified
+    );
+  }
+
+  private <T> T hash(HashingMeters meters, Supplier<T> task) {
+    var submitted = System.nanoTime();
+    CompletableFuture<T> future;
+    try {
+      future = CompletableFuture.supplyAsync(() -> {
+        meters.queueWait().record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+        return meters.duration().record(task);
+      }, hashingExecutor);
+    } catch (RejectedExecutionException e) {
+      meters.rejected().increment();
+      throw new PasswordHashingRejectedException(e);
+    }
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
   private byte[] generateSalt() {
     byte[] salt = new byte[SALT_LENGTH];
-    RANDOM.nextBytes(salt);
+    RANDOM.get().nextBytes(salt);
     return salt;
   }
+
+  private record HashingMeters(Timer queueWait, Timer duration, Counter rejected) {
+
+    static HashingMeters of(MeterRegistry meterRegistry, String operation) {
+      return new HashingMeters(
+          Timer.builder("password.hashing.queue.wait")
+              .tag("operation", operation)
+              .register(meterRegistry),
+          Timer.builder("password.hashing.duration")
+              .tag("operation", operation)
+              .register(meterRegistry),
+          meterRegistry.counter("password.hashing.rejected", "operation", operation)
+      );
+    }
+
+  }
 }
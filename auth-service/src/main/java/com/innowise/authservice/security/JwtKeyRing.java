@@ -0,0 +1,139 @@
+package com.innowise.authservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.innowise.common.util.KeySetParser;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Signing and verification keys of one token type, built once per key set instead of per token.
+ * <p>
+ * The key set is read by {@link KeySetParser} from a spec of the form
+ * {@code kid:secret[,kid:secret...]}, or without one from the legacy single secret. The first key
+ * signs new tokens and is put into their {@code kid} header; the others only verify tokens issued
+ * before a rotation. Tokens without a {@code kid} are verified with the signing key. The keys are
+ * read on first use and re-read by {@link #reload()}, which only sees a rotation if its sources
+ * can change at runtime.
+ */
+@Slf4j
+@NullMarked
+public class JwtKeyRing {
+
+  public static final String DEFAULT_KEY_ID = KeySetParser.DEFAULT_KEY_ID;
+
+  private final Supplier<@Nullable String> keySetSource;
+  private final Supplier<@Nullable String> legacySecretSource;
+  private final Function<Algorithm, JWTVerifier> verifierFactory;
+  private volatile @Nullable KeySet keySet;
+
+  public JwtKeyRing(Supplier<@Nullable String> keySetSource,
+      Supplier<@Nullable String> legacySecretSource,
+      Function<Algorithm, JWTVerifier> verifierFactory) {
+    this.keySetSource = keySetSource;
+    this.legacySecretSource = legacySecretSource;
+    this.verifierFactory = verifierFactory;
+  }
+
+  public String sign(JWTCreator.Builder jwt) {
+    var current = current();
+    return jwt.withKeyId(current.signingKeyId()).sign(current.signingAlgorithm());
+  }
+
+  public DecodedJWT verify(String token) throws JWTVerificationException {
+    var current = current();
+    var decodedJwt = JWT.decode(token);
+    var keyId = decodedJwt.getKeyId() == null ? current.signingKeyId() : decodedJwt.getKeyId();
+    var verifier = current.verifiers().get(keyId);
+    if (verifier == null) {
+      throw new SignatureVerificationException(current.signingAlgorithm());
+    }
+    return verifier.verify(decodedJwt);
+  }
+
+  /**
+   * Re-reads the key set spec, or the legacy secret without one, and rebuilds the keys if they
+   * have changed. Missing keys keep the current ones.
+   */
+  public void reload() {
+    var spec = readSpec();
+    var current = keySet;
+    if (spec == null) {
+      if (current != null) {
+        log.warn("JWT key set is not configured, keeping keys {}", current.verifiers().keySet());
+      }
+      return;
+    }
+    if (current == null || !current.spec().equals(spec)) {
+      keySet = load(spec);
+    }
+  }
+
+  private @Nullable Spec readSpec() {
+    var keys = keySetSource.get();
+    if (keys != null && !keys.isBlank()) {
+      return new Spec(keys, false);
+    }
+    var legacySecret = legacySecretSource.get();
+    if (legacySecret != null && !legacySecret.isBlank()) {
+      return new Spec(legacySecret, true);
+    }
+    return null;
+  }
+
+  private KeySet current() {
+    var current = keySet;
+    if (current == null) {
+      reload();
+      current = keySet;
+      if (current == null) {
+        throw new IllegalStateException("JWT key set is not configured");
+      }
+    }
+    return current;
+  }
+
+  private KeySet load(Spec spec) {
+    var secrets = spec.legacy()
+        ? KeySetParser.parseLegacy(spec.value())
+        : KeySetParser.parse(spec.value());
+    var verifiers = new LinkedHashMap<String, JWTVerifier>();
+    String signingKeyId = null;
+    Algorithm signingAlgorithm = null;
+    for (var secret : secrets.entrySet()) {
+      var algorithm = Algorithm.HMAC256(secret.getValue().getBytes(StandardCharsets.UTF_8));
+      verifiers.put(secret.getKey(), verifierFactory.apply(algorithm));
+      if (signingKeyId == null) {
+        signingKeyId = secret.getKey();
+        signingAlgorithm = algorithm;
+      }
+    }
+    log.info("Loaded JWT keys {}, signing with {}", verifiers.keySet(), signingKeyId);
+    return new KeySet(spec, signingKeyId, signingAlgorithm, Map.copyOf(verifiers));
+  }
+
+  private record Spec(String value, boolean legacy) {
+
+  }
+
+  private record KeySet(
+      Spec spec,
+      String signingKeyId,
+      Algorithm signingAlgorithm,
+      Map<String, JWTVerifier> verifiers
+  ) {
+
+  }
+
+}
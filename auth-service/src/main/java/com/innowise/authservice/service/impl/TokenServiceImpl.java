@@ -1,66 +1,126 @@
 package com.innowise.authservice.service.impl;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.innowise.authservice.config.TokenExpirationConfig;
 import com.innowise.authservice.exception.AuthFailedException;
 import com.innowise.authservice.exception.TokenException;
 import com.innowise.authservice.model.dto.credential.CredentialDto;
 import com.innowise.authservice.model.dto.token.TokenDto;
 import com.innowise.authservice.model.dto.user.UserAuthDto;
+import com.innowise.authservice.security.JwtKeyRing;
 import com.innowise.authservice.service.TokenService;
 import com.innowise.authservice.service.UserService;
 import com.innowise.common.exception.ResourceNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Set;
-import lombok.RequiredArgsConstructor;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
-@RequiredArgsConstructor
 @NullMarked
 @Slf4j
 public class TokenServiceImpl implements TokenService {
 
+  private static final String USER_SERVICE_ID_CLAIM = "id";
+  private static final String USER_ROLES_CLAIM = "roles";
+
+  private static final String ACCESS_KEYS_PROPERTY = "jwt.access.keys";
+  private static final String REFRESH_KEYS_PROPERTY = "jwt.refresh.keys";
+  private static final String ACCESS_KEY_PROPERTY = "jwt.access.key";
+  private static final String REFRESH_KEY_PROPERTY = "jwt.refresh.key";
+  private static final String ACCESS_KEYS_FILE_PROPERTY = "jwt.access.keys-file";
+  private static final String REFRESH_KEYS_FILE_PROPERTY = "jwt.refresh.keys-file";
+
   private final UserService userService;
+  private final TokenExpirationConfig tokenExpirationConfig;
+  private final String issuer;
+  private final JwtKeyRing accessKeyRing;
+  private final JwtKeyRing refreshKeyRing;
+
+  public TokenServiceImpl(UserService userService, TokenExpirationConfig tokenExpirationConfig,
+      Environment environment, @Value("${spring.application.name}") String issuer) {
+    this.userService = userService;
+    this.tokenExpirationConfig = tokenExpirationConfig;
+    this.issuer = issuer;
+    this.accessKeyRing = new JwtKeyRing(
+        keySetSource(environment, ACCESS_KEYS_FILE_PROPERTY, ACCESS_KEYS_PROPERTY),
+        () -> environment.getProperty(ACCESS_KEY_PROPERTY),
+        algorithm -> JWT.require(algorithm)
+            .withIssuer(issuer)
+            .withClaimPresence(USER_SERVICE_ID_CLAIM)
+            .withClaimPresence(USER_ROLES_CLAIM)
+            .withClaim("type", "access")
+            .build());
+    this.refreshKeyRing = new JwtKeyRing(
+        keySetSource(environment, REFRESH_KEYS_FILE_PROPERTY, REFRESH_KEYS_PROPERTY),
+        () -> environment.getProperty(REFRESH_KEY_PROPERTY),
+        algorithm -> JWT.require(algorithm)
+            .withIssuer(issuer)
+            .withClaim("type", "refresh")
+            .build());
+  }
 
-  @Value("${spring.application.name}")
-  private String issuer;
+  /**
+   * Key sets are read from the {@code keys-file} when one is configured, so a rotated secret
+   * mounted into the container is picked up on the next reload. The {@code keys} and legacy
+   * {@code key} properties come from environment variables and only change on restart.
+   */
+  private static Supplier<@Nullable String> keySetSource(Environment environment,
+      String fileProperty, String keysProperty) {
+    return () -> {
+      var file = environment.getProperty(fileProperty);
+      if (file == null || file.isBlank()) {
+        return environment.getProperty(keysProperty);
+      }
+      try {
+        return Files.readString(Path.of(file));
+      } catch (IOException e) {
+        log.error("Failed to read JWT key set from {}", file, e);
+        return null;
+      }
+    };
+  }
 
-  private static final String USER_SERVICE_ID_CLAIM = "id";
-  private static final String USER_ROLES_CLAIM = "roles";
+  @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:1m}",
+      initialDelayString = "${jwt.keys.reload-interval:1m}")
+  public void reloadKeys() {
+    accessKeyRing.reload();
+    refreshKeyRing.reload();
+  }
 
   private String createAccessToken(Long userAuthId, Long userProfileId, Set<String> roles) {
-    return JWT.create()
-        .withExpiresAt(Instant.from(ZonedDateTime.now().plusSeconds(getExpiration())))
+    return accessKeyRing.sign(JWT.create()
+        .withExpiresAt(Instant.now().plus(tokenExpirationConfig.getAccess()))
         .withIssuer(issuer)
         .withSubject(userAuthId.toString())
         .withClaim(USER_SERVICE_ID_CLAIM, userProfileId)
         .withArrayClaim(USER_ROLES_CLAIM, roles.toArray(new String[0]))
-        .withClaim("type", "access")
-        .sign(Algorithm.HMAC256(getAccessSecretKey()));
+        .withClaim("type", "access"));
   }
 
   private String createRefreshToken(Long userAuthId) {
-    return JWT.create()
-        .withExpiresAt(Instant.from(ZonedDateTime.now().plusSeconds(getRefreshExpiration())))
+    return refreshKeyRing.sign(JWT.create()
+        .withExpiresAt(Instant.now().plus(tokenExpirationConfig.getRefresh()))
         .withIssuer(issuer)
         .withSubject(userAuthId.toString())
-        .withClaim("type", "refresh")
-        .sign(Algorithm.HMAC256(getRefreshSecretKey()));
+        .withClaim("type", "refresh"));
   }
 
   @Override
   public TokenDto refreshAccessToken(String refreshToken) {
     try {
-      var refreshVerifier = createRefreshTokenJwtVerifier();
-      var decodedRefreshToken = refreshVerifier.verify(refreshToken);
+      var decodedRefreshToken = refreshKeyRing.verify(refreshToken);
       Long userAuthId = Long.parseUnsignedLong(decodedRefreshToken.getSubject());
       UserAuthDto userAuthDto = tryAuthenticateUser(userAuthId);
       return TokenDto.builder()
@@ -95,45 +155,13 @@ public class TokenServiceImpl implements TokenService {
     }
   }
 
-  private JWTVerifier createRefreshTokenJwtVerifier() {
-    return JWT.require(Algorithm.HMAC256(getRefreshSecretKey()))
-        .withIssuer(issuer)
-        .withClaim("type", "refresh")
-        .build();
-  }
-
-  private JWTVerifier createAccessTokenJwtVerifier() {
-    return JWT.require(Algorithm.HMAC256(getAccessSecretKey()))
-        .withIssuer(issuer)
-        .withClaimPresence(USER_SERVICE_ID_CLAIM)
-        .withClaimPresence(USER_ROLES_CLAIM)
-        .withClaim("type", "access")
-        .build();
-  }
-
   public void validateAccessToken(String accessToken) throws TokenException {
     try {
-      createAccessTokenJwtVerifier().verify(accessToken);
+      accessKeyRing.verify(accessToken);
     } catch (JWTVerificationException e) {
       log.warn("JWT access token verification failed", e);
       throw TokenException.fromJwtException(e);
     }
   }
 
-  private byte[] getAccessSecretKey() {
-    return System.getenv("JWT_ACCESS_KEY").getBytes();
-  }
-
-  private byte[] getRefreshSecretKey() {
-    return System.getenv("JWT_REFRESH_KEY").getBytes();
-  }
-
-  private int getExpiration() {
-    return Integer.parseUnsignedInt(System.getenv("JWT_EXPIRATION"));
-  }
-
-  private int getRefreshExpiration() {
-    return Integer.parseUnsignedInt(System.getenv("JWT_REFRESH_EXPIRATION"));
-  }
-
 }
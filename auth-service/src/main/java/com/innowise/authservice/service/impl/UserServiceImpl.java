@@ -1,5 +1,6 @@
 package com.innowise.authservice.service.impl;
 
+import com.innowise.authservice.cache.UserAuthCache;
 import com.innowise.authservice.exception.AuthFailedException;
 import com.innowise.authservice.model.dto.user.UserAuthDto;
 import com.innowise.authservice.model.dto.user.UserAuthInfoDto;
@@ -31,6 +32,7 @@ public class UserServiceImpl implements UserService {
   private final UserMapper userMapper;
   private final PasswordEncoder passwordEncoder;
   private final UserServiceClient userServiceClient;
+  private final UserAuthCache userAuthCache;
 
   @Override
   @Transactional
@@ -38,6 +40,7 @@ public class UserServiceImpl implements UserService {
     userRepository.findById(id)
         .ifPresent(user -> {
           userRepository.deleteById(id);
+          userAuthCache.evict(id);
           userServiceClient.delete(user.getUserId());
         });
 
@@ -97,12 +100,17 @@ public class UserServiceImpl implements UserService {
     if (!passwordEncoder.matches(password, user.getCredentials().getPasswordHash())) {
       throw new AuthFailedException();
     }
+    if (passwordEncoder.upgradeEncoding(user.getCredentials().getPasswordHash())) {
+      user.getCredentials().setPasswordHash(passwordEncoder.encode(password));
+      user = userRepository.save(user);
+      userAuthCache.evict(user.getId());
+    }
     return userMapper.toDto(user);
   }
 
   public UserAuthDto findById(Long id) {
-    return userRepository.findById(id)
+    return userAuthCache.findById(id, key -> userRepository.findById(key)
         .map(userMapper::toDto)
-        .orElseThrow(() -> ResourceNotFoundException.byId("User", id));
+        .orElseThrow(() -> ResourceNotFoundException.byId("User", key)));
   }
 }
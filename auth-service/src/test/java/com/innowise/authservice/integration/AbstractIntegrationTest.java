@@ -47,6 +47,9 @@ public abstract class AbstractIntegrationTest {
     registry.add("spring.datasource.password", postgres::getPassword);
 
     registry.add("services.user-service.url", userServiceClientServer::baseUrl);
+
+    registry.add("jwt.expiration.access", () -> TEST_ACCESS_EXPIRATION);
+    registry.add("jwt.expiration.refresh", () -> TEST_REFRESH_EXPIRATION);
   }
 
   @SystemStub
@@ -56,8 +59,6 @@ public abstract class AbstractIntegrationTest {
   void prepareTokenService() {
     envVariables.set("JWT_ACCESS_KEY", TEST_ACCESS_KEY);
     envVariables.set("JWT_REFRESH_KEY", TEST_REFRESH_KEY);
-    envVariables.set("JWT_EXPIRATION", String.valueOf(TEST_ACCESS_EXPIRATION));
-    envVariables.set("JWT_REFRESH_EXPIRATION", String.valueOf(TEST_REFRESH_EXPIRATION));
   }
 
 }
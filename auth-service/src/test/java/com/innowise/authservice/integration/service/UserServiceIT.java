@@ -10,6 +10,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -256,4 +258,38 @@ class UserServiceIT extends AbstractIntegrationTest {
         .isEqualTo(userMapper.toDto(user));
   }
 
+  @Test
+  void findById_calledTwice_loadUserOnce() {
+    var user = SUT.giveMeOne(User.class);
+    em.persistAndFlush(user);
+    em.clear();
+
+    assertThat(userService.findById(user.getId())).isEqualTo(userMapper.toDto(user));
+    assertThat(userService.findById(user.getId())).isEqualTo(userMapper.toDto(user));
+
+    verify(userRepository, times(1)).findById(user.getId());
+  }
+
+  @Test
+  void findById_userDeleted_throwResourceNotFoundException() {
+    var userInfoId = 1L;
+    var user = SUT.giveMeBuilder(User.class)
+        .set("userId", userInfoId)
+        .sample();
+    em.persistAndFlush(user);
+
+    userServiceClientServer.stubFor(
+        WireMock.delete("/api/v1/users/" + userInfoId)
+            .willReturn(WireMock.aResponse()
+                .withStatus(HttpStatus.NO_CONTENT.value())
+            )
+    );
+
+    userService.findById(user.getId());
+    userService.delete(user.getId());
+
+    assertThatThrownBy(() -> userService.findById(user.getId()))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
 }
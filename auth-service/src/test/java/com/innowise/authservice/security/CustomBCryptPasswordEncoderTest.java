@@ -7,6 +7,9 @@ import at.favre.lib.crypto.bcrypt.BCrypt;
 import at.favre.lib.crypto.bcrypt.BCrypt.Version;
 import at.favre.lib.crypto.bcrypt.LongPasswordStrategies;
 import at.favre.lib.crypto.bcrypt.LongPasswordStrategy;
+import com.innowise.authservice.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.RejectedExecutionException;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +22,8 @@ class CustomBCryptPasswordEncoderTest {
 
   private static final Faker FAKER = new Faker();
 
-  private final CustomBCryptPasswordEncoder passwordEncoder = new CustomBCryptPasswordEncoder();
+  private final CustomBCryptPasswordEncoder passwordEncoder =
+      new CustomBCryptPasswordEncoder(ITERATIONS, Runnable::run, new SimpleMeterRegistry());
 
   @Test
   void encode_rawPasswordIsNull_throwIllegalArgumentException() {
@@ -65,7 +69,7 @@ class CustomBCryptPasswordEncoderTest {
     assertThat(passwordEncoder.matches(rawPassword, encodedPassword)).isFalse();
   }
 
-    @Test
+  @Test
   void matches_rawAndEncodedPasswordsMatch_returnTrue() {
     var rawPassword = FAKER.credentials().password();
     var encodedPassword = new String(BCrypt
@@ -74,4 +78,31 @@ class CustomBCryptPasswordEncoderTest {
     );
     assertThat(passwordEncoder.matches(rawPassword, encodedPassword)).isTrue();
   }
+
+  @Test
+  void matches_hashingQueueFull_throwPasswordHashingRejectedException() {
+    var overloadedEncoder = new CustomBCryptPasswordEncoder(ITERATIONS, _ -> {
+      throw new RejectedExecutionException();
+    }, new SimpleMeterRegistry());
+    var rawPassword = FAKER.credentials().password();
+    var encodedPassword = passwordEncoder.encode(rawPassword);
+    assertThatThrownBy(() -> overloadedEncoder.matches(rawPassword, encodedPassword))
+        .isInstanceOf(PasswordHashingRejectedException.class);
+  }
+
+  @Test
+  void upgradeEncoding_hashHasConfiguredCost_returnFalse() {
+    assertThat(passwordEncoder.upgradeEncoding(
+        passwordEncoder.encode(FAKER.credentials().password())
+    )).isFalse();
+  }
+
+  @Test
+  void upgradeEncoding_hashHasOtherCost_returnTrue() {
+    var encodedPassword = new String(BCrypt
+        .with(VERSION, LONG_PASSWORD_STRATEGY)
+        .hash(ITERATIONS - 2, FAKER.credentials().password().getBytes())
+    );
+    assertThat(passwordEncoder.upgradeEncoding(encodedPassword)).isTrue();
+  }
 }
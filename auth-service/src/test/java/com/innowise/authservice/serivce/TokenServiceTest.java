@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.authservice.config.TokenExpirationConfig;
 import com.innowise.authservice.exception.AuthFailedException;
 import com.innowise.authservice.exception.TokenException;
 import com.innowise.authservice.exception.TokenException.TokenErrorCode;
@@ -21,6 +22,9 @@ import com.navercorp.fixturemonkey.api.introspector.ConstructorPropertiesArbitra
 import com.navercorp.fixturemonkey.api.jqwik.JavaTypeArbitraryGenerator;
 import com.navercorp.fixturemonkey.api.jqwik.JqwikPlugin;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Set;
 import lombok.SneakyThrows;
 import net.jqwik.api.Arbitraries;
@@ -28,14 +32,12 @@ import net.jqwik.api.arbitraries.LongArbitrary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
-import uk.org.webcompere.systemstubs.jupiter.SystemStub;
-import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import org.springframework.mock.env.MockEnvironment;
 
-@ExtendWith({SystemStubsExtension.class, MockitoExtension.class})
+@ExtendWith(MockitoExtension.class)
 class TokenServiceTest {
 
   private static final String TEST_ACCESS_KEY = "6e4d3f160f46d03de0d5f3ac52d2e19797cbbe9ff71ab1c168ce31bb5d4df87e";
@@ -44,8 +46,8 @@ class TokenServiceTest {
   private static final String TEST_ANOTHER_REFRESH_KEY = "679819a27a16b01280cb8e0d74321a13b217ef79a9c2deb3788ff961874b875f";
   private static final String TEST_ANOTHER_ACCESS_KEY = "b659a318b18ab27da3dbbc2a0a345cdc59d01f1f21b8397fc2f105894851bc1e";
 
-  private static final int TEST_ACCESS_EXPIRATION = 900;
-  private static final int TEST_REFRESH_EXPIRATION = 604800;
+  private static final Duration TEST_ACCESS_EXPIRATION = Duration.ofSeconds(900);
+  private static final Duration TEST_REFRESH_EXPIRATION = Duration.ofSeconds(604800);
 
   private static final FixtureMonkey SUT = FixtureMonkey.builder()
       .plugin(new JqwikPlugin().javaTypeArbitraryGenerator(new JavaTypeArbitraryGenerator() {
@@ -60,21 +62,22 @@ class TokenServiceTest {
       .nullableElement(false)
       .build();
 
-  @SystemStub
-  private final EnvironmentVariables envVariables = new EnvironmentVariables();
+  private final MockEnvironment environment = new MockEnvironment();
+  private final TokenExpirationConfig tokenExpirationConfig = new TokenExpirationConfig();
 
   @Mock
   private UserServiceImpl userService;
 
-  @InjectMocks
   private TokenServiceImpl tokenService;
 
   @BeforeEach
   void prepareTokenService() {
-    envVariables.set("JWT_ACCESS_KEY", TEST_ACCESS_KEY);
-    envVariables.set("JWT_REFRESH_KEY", TEST_REFRESH_KEY);
-    envVariables.set("JWT_EXPIRATION", String.valueOf(TEST_ACCESS_EXPIRATION));
-    envVariables.set("JWT_REFRESH_EXPIRATION", String.valueOf(TEST_REFRESH_EXPIRATION));
+    environment.setProperty("jwt.access.keys", TEST_ACCESS_KEY);
+    environment.setProperty("jwt.refresh.keys", TEST_REFRESH_KEY);
+    tokenExpirationConfig.setAccess(TEST_ACCESS_EXPIRATION);
+    tokenExpirationConfig.setRefresh(TEST_REFRESH_EXPIRATION);
+    tokenService = new TokenServiceImpl(userService, tokenExpirationConfig, environment,
+        "auth-service");
   }
 
   @SneakyThrows
@@ -108,10 +111,10 @@ class TokenServiceTest {
     assertThat(tokenDto.refreshToken()).isNotNull();
 
     assertThatNoException().isThrownBy(
-        () -> JWT.require(Algorithm.HMAC256(System.getenv("JWT_ACCESS_KEY"))).build()
+        () -> JWT.require(Algorithm.HMAC256(TEST_ACCESS_KEY)).build()
             .verify(tokenDto.accessToken()));
     assertThatNoException().isThrownBy(
-        () -> JWT.require(Algorithm.HMAC256(System.getenv("JWT_REFRESH_KEY"))).build()
+        () -> JWT.require(Algorithm.HMAC256(TEST_REFRESH_KEY)).build()
             .verify(tokenDto.refreshToken()));
   }
 
@@ -133,7 +136,8 @@ class TokenServiceTest {
 
     String refreshToken = createRefreshToken(userDto.id());
 
-    envVariables.set("JWT_REFRESH_KEY", TEST_ANOTHER_REFRESH_KEY);
+    environment.setProperty("jwt.refresh.keys", TEST_ANOTHER_REFRESH_KEY);
+    tokenService.reloadKeys();
     assertThatException().isThrownBy(() -> tokenService.refreshAccessToken(refreshToken))
         .isInstanceOf(TokenException.class);
   }
@@ -155,7 +159,7 @@ class TokenServiceTest {
   void refreshAccessToken_whenTokenExpired_shouldThrowTokenException() {
     var userDto = SUT.giveMeOne(UserAuthDto.class);
 
-    envVariables.set("JWT_REFRESH_EXPIRATION", 0);
+    tokenExpirationConfig.setRefresh(Duration.ZERO);
 
     String refreshToken = createRefreshToken(userDto.id());
 
@@ -177,7 +181,7 @@ class TokenServiceTest {
     assertThat(tokenDto.accessToken()).isNotNull();
     assertThat(tokenDto.refreshToken()).isNull();
     assertThatNoException().isThrownBy(
-        () -> JWT.require(Algorithm.HMAC256(System.getenv("JWT_ACCESS_KEY"))).build()
+        () -> JWT.require(Algorithm.HMAC256(TEST_ACCESS_KEY)).build()
             .verify(tokenDto.accessToken()));
   }
 
@@ -195,10 +199,12 @@ class TokenServiceTest {
 
     var userDto = SUT.giveMeOne(UserAuthDto.class);
 
-    envVariables.set("JWT_ACCESS_KEY", TEST_ANOTHER_ACCESS_KEY);
+    environment.setProperty("jwt.access.keys", TEST_ANOTHER_ACCESS_KEY);
+    tokenService.reloadKeys();
     String accessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
 
-    envVariables.set("JWT_ACCESS_KEY", TEST_ACCESS_KEY);
+    environment.setProperty("jwt.access.keys", TEST_ACCESS_KEY);
+    tokenService.reloadKeys();
     assertThatException().isThrownBy(() -> tokenService.validateAccessToken(accessToken))
         .isInstanceOfSatisfying(TokenException.class,
             ex -> assertThat(ex.getErrorCode()).isEqualTo(TokenErrorCode.INVALID_SIGNATURE));
@@ -209,7 +215,7 @@ class TokenServiceTest {
 
     var userDto = SUT.giveMeOne(UserAuthDto.class);
 
-    envVariables.set("JWT_EXPIRATION", 0);
+    tokenExpirationConfig.setAccess(Duration.ZERO);
 
     String accessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
 
@@ -219,4 +225,77 @@ class TokenServiceTest {
 
   }
 
+  @Test
+  void validateAccessToken_whenKeyRotated_shouldAcceptTokensOfBothKeys() {
+
+    var userDto = SUT.giveMeOne(UserAuthDto.class);
+    String oldAccessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
+
+    environment.setProperty("jwt.access.keys",
+        "next:" + TEST_ANOTHER_ACCESS_KEY + ",default:" + TEST_ACCESS_KEY);
+    tokenService.reloadKeys();
+    String newAccessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
+
+    assertThat(JWT.decode(newAccessToken).getKeyId()).isEqualTo("next");
+    assertThatNoException().isThrownBy(() -> tokenService.validateAccessToken(oldAccessToken));
+    assertThatNoException().isThrownBy(() -> tokenService.validateAccessToken(newAccessToken));
+  }
+
+  @Test
+  void createTokens_whenLegacyKeyContainsSeparators_shouldSignWithWholeKey() {
+    var legacyAccessKey = "legacy:" + TEST_ANOTHER_ACCESS_KEY + "," + TEST_ACCESS_KEY;
+    var credentialDto = SUT.giveMeOne(CredentialDto.class);
+    var userDto = SUT.giveMeBuilder(UserAuthDto.class).set("login", credentialDto.login())
+        .set("password", credentialDto.password()).sample();
+
+    when(userService.findByLoginAndPassword(credentialDto.login(),
+        credentialDto.password())).thenReturn(userDto);
+
+    environment.setProperty("jwt.access.keys", "");
+    environment.setProperty("jwt.access.key", legacyAccessKey);
+    tokenService.reloadKeys();
+    var tokenDto = tokenService.createTokens(credentialDto);
+
+    assertThat(JWT.decode(tokenDto.accessToken()).getKeyId()).isEqualTo("default");
+    assertThatNoException().isThrownBy(
+        () -> JWT.require(Algorithm.HMAC256(legacyAccessKey)).build()
+            .verify(tokenDto.accessToken()));
+    assertThatNoException().isThrownBy(
+        () -> tokenService.validateAccessToken(tokenDto.accessToken()));
+  }
+
+  @Test
+  @SneakyThrows
+  void validateAccessToken_whenKeysFileRotated_shouldSignWithNewKey(@TempDir Path keysDir) {
+
+    var userDto = SUT.giveMeOne(UserAuthDto.class);
+    var keysFile = Files.writeString(keysDir.resolve("access-keys"), "default:" + TEST_ACCESS_KEY);
+    environment.setProperty("jwt.access.keys-file", keysFile.toString());
+    tokenService.reloadKeys();
+    String oldAccessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
+
+    Files.writeString(keysFile, "next:" + TEST_ANOTHER_ACCESS_KEY + ",default:" + TEST_ACCESS_KEY);
+    tokenService.reloadKeys();
+    String newAccessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
+
+    assertThat(JWT.decode(oldAccessToken).getKeyId()).isEqualTo("default");
+    assertThat(JWT.decode(newAccessToken).getKeyId()).isEqualTo("next");
+    assertThatNoException().isThrownBy(() -> tokenService.validateAccessToken(oldAccessToken));
+    assertThatNoException().isThrownBy(() -> tokenService.validateAccessToken(newAccessToken));
+  }
+
+  @Test
+  void validateAccessToken_whenKeyRetired_shouldThrowTokenException() {
+
+    var userDto = SUT.giveMeOne(UserAuthDto.class);
+    String accessToken = createAccessToken(userDto.id(), userDto.userId(), userDto.roles());
+
+    environment.setProperty("jwt.access.keys", "next:" + TEST_ANOTHER_ACCESS_KEY);
+    tokenService.reloadKeys();
+
+    assertThatException().isThrownBy(() -> tokenService.validateAccessToken(accessToken))
+        .isInstanceOfSatisfying(TokenException.class,
+            ex -> assertThat(ex.getErrorCode()).isEqualTo(TokenErrorCode.INVALID_SIGNATURE));
+  }
+
 }
@@ -28,11 +28,19 @@ dependencies {
     compileOnly("org.springframework.boot:spring-boot-autoconfigure")
     compileOnly("org.projectlombok:lombok")
 
+    compileOnly("io.micrometer:micrometer-core")
+
     implementation(libs.java.jwt)
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
     annotationProcessor("org.projectlombok:lombok")
 
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.boot:spring-boot-starter-security")
+    testImplementation("org.springframework.boot:spring-boot-starter-web")
+
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.findByName("bootJar")?.enabled = false
@@ -2,13 +2,20 @@ package com.innowise.auth.autoconfigure;
 
 import com.innowise.auth.model.Role;
 import com.innowise.auth.security.JwtAuthenticationProvider;
+import com.innowise.auth.security.filter.JwtAuthenticationConverter;
 import com.innowise.auth.security.provider.AuthTokenProvider;
-import com.innowise.auth.security.provider.AuthTokenProviderInterceptor;
+import com.innowise.auth.security.provider.ScopedValueAuthTokenProvider;
+import com.innowise.auth.security.provider.ThreadLocalAuthTokenProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +34,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
     HttpSecurity.class
 })
 @EnableWebMvc
+@EnableConfigurationProperties(PrincipalCacheProperties.class)
 public class AuthAutoConfiguration implements WebMvcConfigurer {
 
   @Bean
@@ -51,15 +59,46 @@ public class AuthAutoConfiguration implements WebMvcConfigurer {
   }
 
   @Bean
-  public AuthTokenProvider authTokenProvider() {
-    return new AuthTokenProvider();
+  @ConditionalOnMissingBean
+  public JwtAuthenticationConverter jwtAuthenticationConverter(
+      PrincipalCacheProperties principalCacheProperties) {
+    if (!principalCacheProperties.isEnabled()) {
+      return new JwtAuthenticationConverter();
+    }
+    return new JwtAuthenticationConverter(
+        principalCacheProperties.getMaximumSize(),
+        principalCacheProperties.getTtl()
+    );
+  }
+
+  @Bean
+  @ConditionalOnMissingBean(AuthTokenProvider.class)
+  @ConditionalOnProperty(name = "auth.token-provider", havingValue = "thread-local")
+  public ThreadLocalAuthTokenProvider threadLocalAuthTokenProvider() {
+    return new ThreadLocalAuthTokenProvider();
   }
 
   @Bean
-  public AuthTokenProviderInterceptor authTokenProviderInterceptor(
-      AuthTokenProvider authTokenProvider) {
-    return new AuthTokenProviderInterceptor(authTokenProvider);
+  @ConditionalOnMissingBean(AuthTokenProvider.class)
+  public ScopedValueAuthTokenProvider scopedValueAuthTokenProvider() {
+    return new ScopedValueAuthTokenProvider();
   }
 
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(CaffeineCacheMetrics.class)
+  static class PrincipalCacheMetricsConfiguration {
+
+    @Bean
+    public MeterBinder principalCacheMetrics(
+        JwtAuthenticationConverter jwtAuthenticationConverter) {
+      return registry -> {
+        var cache = jwtAuthenticationConverter.getCache();
+        if (cache != null) {
+          CaffeineCacheMetrics.monitor(registry, cache, "jwt-principals");
+        }
+      };
+    }
+
+  }
 
 }
@@ -0,0 +1,20 @@
+package com.innowise.auth.autoconfigure;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the optional cache of user details decoded from bearer tokens, off unless
+ * {@link #enabled} is set. An entry lives for {@link #ttl} at most and never outlives the
+ * {@code exp} claim of its token.
+ */
+@ConfigurationProperties("auth.principal-cache")
+@Data
+public class PrincipalCacheProperties {
+
+  private boolean enabled;
+  private long maximumSize = 10_000;
+  private Duration ttl = Duration.ofMinutes(5);
+
+}
@@ -3,10 +3,15 @@ package com.innowise.auth.security.filter;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.innowise.auth.model.AuthConstants;
 import com.innowise.auth.model.JwtUserDetails;
 import com.innowise.auth.security.token.LoginRolesJwtAuthenticationToken;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -18,8 +23,33 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.AuthenticationConverter;
 
+/**
+ * Builds a {@link LoginRolesJwtAuthenticationToken} from the bearer token of a request. When
+ * created with a cache size and TTL, the decoded user details are kept per token value, so a client
+ * reusing its token skips decoding. The details are immutable and only they are shared, every
+ * request still gets an authentication of its own. Cached entries expire with the {@code exp} claim
+ * of their token or after the TTL, whichever comes first.
+ */
 public class JwtAuthenticationConverter implements AuthenticationConverter {
 
+  private final @Nullable Cache<String, CachedUserDetails> cache;
+  private final Duration ttl;
+
+  public JwtAuthenticationConverter() {
+    this.cache = null;
+    this.ttl = Duration.ZERO;
+  }
+
+  public JwtAuthenticationConverter(long maximumSize, Duration ttl) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(Expiry.<String, CachedUserDetails>creating((_, cached) ->
+            Duration.between(Instant.now(), cached.expiresAt())))
+        .recordStats()
+        .build();
+    this.ttl = ttl;
+  }
+
   @Override
   public @Nullable Authentication convert(HttpServletRequest request) {
     var authHeader = request.getHeader(AuthConstants.AUTH_HEADER);
@@ -29,9 +59,38 @@ public class JwtAuthenticationConverter implements AuthenticationConverter {
     if (!authHeader.startsWith(AuthConstants.AUTH_SCHEME)) {
       throw new BadCredentialsException("Wrong auth scheme.");
     }
-    return extractUserDetails(JWT.decode(authHeader))
-        .map(userDetails -> new LoginRolesJwtAuthenticationToken(userDetails, authHeader))
+    if (cache == null) {
+      return new LoginRolesJwtAuthenticationToken(decode(authHeader).userDetails(), authHeader);
+    }
+    var cached = cache.getIfPresent(authHeader);
+    if (cached == null) {
+      cached = decode(authHeader);
+      if (cached.expiresAt().isAfter(Instant.now())) {
+        cache.put(authHeader, cached);
+      }
+    }
+    return new LoginRolesJwtAuthenticationToken(cached.userDetails(), authHeader);
+  }
+
+  /**
+   * Cache of user details by the raw header value, {@code null} when caching is disabled. The key
+   * is the token itself rather than a digest of it since every authentication holds the token as
+   * its credentials anyway.
+   */
+  public @Nullable Cache<String, ?> getCache() {
+    return cache;
+  }
+
+  private CachedUserDetails decode(String authHeader) {
+    var jwt = JWT.decode(authHeader.substring(AuthConstants.AUTH_SCHEME.length()));
+    var userDetails = extractUserDetails(jwt)
         .orElseThrow(() -> new BadCredentialsException("JWT is malformed."));
+    var maxExpiresAt = Instant.now().plus(ttl);
+    var expiresAt = jwt.getExpiresAtAsInstant();
+    return new CachedUserDetails(
+        userDetails,
+        expiresAt == null || expiresAt.isAfter(maxExpiresAt) ? maxExpiresAt : expiresAt
+    );
   }
 
   private Optional<JwtUserDetails> extractUserDetails(DecodedJWT jwt) {
@@ -64,4 +123,10 @@ public class JwtAuthenticationConverter implements AuthenticationConverter {
     }
     return List.of();
   }
+
+  private record CachedUserDetails(
+      JwtUserDetails userDetails,
+      Instant expiresAt) {
+
+  }
 }
@@ -11,39 +11,48 @@ import org.jspecify.annotations.NullMarked;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
-import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @NullMarked
 public class JwtAuthenticationFilter extends AbstractAuthenticationProcessingFilter {
 
+  private final AuthTokenProvider authTokenProvider;
+
   public JwtAuthenticationFilter(
       RequestMatcher requiresAuthenticationRequestMatcher,
       AuthenticationManager authenticationManager,
       AuthTokenProvider authTokenProvider
   ) {
-    super(requiresAuthenticationRequestMatcher, authenticationManager);
-    setAuthenticationConverter(new JwtAuthenticationConverter());
-    setAuthenticationSuccessHandler(new AuthenticationSuccessHandler() {
-      @Override
-      public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
-          Authentication authentication) {
-        authTokenProvider.set((LoginRolesJwtAuthenticationToken) authentication);
-      }
+    this(requiresAuthenticationRequestMatcher, authenticationManager, authTokenProvider,
+        new JwtAuthenticationConverter());
+  }
 
-      @Override
-      public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
-          FilterChain chain, Authentication authentication) throws ServletException, IOException {
-        authTokenProvider.set((LoginRolesJwtAuthenticationToken) authentication);
-        chain.doFilter(request, response);
-      }
+  public JwtAuthenticationFilter(
+      RequestMatcher requiresAuthenticationRequestMatcher,
+      AuthenticationManager authenticationManager,
+      AuthTokenProvider authTokenProvider,
+      JwtAuthenticationConverter jwtAuthenticationConverter
+  ) {
+    super(requiresAuthenticationRequestMatcher, authenticationManager);
+    setAuthenticationConverter(jwtAuthenticationConverter);
+    setAuthenticationSuccessHandler((_, _, _) -> {
     });
+    this.authTokenProvider = authTokenProvider;
   }
 
   @Override
   protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response,
       FilterChain chain, Authentication authResult) throws IOException, ServletException {
     super.successfulAuthentication(request, response, chain, authResult);
-    chain.doFilter(request, response);
+    try {
+      authTokenProvider.callWith((LoginRolesJwtAuthenticationToken) authResult, () -> {
+        chain.doFilter(request, response);
+        return null;
+      });
+    } catch (IOException | ServletException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ServletException(e);
+    }
   }
 }
@@ -1,25 +1,38 @@
 package com.innowise.auth.security.provider;
 
 import com.innowise.auth.security.token.LoginRolesJwtAuthenticationToken;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.core.context.SecurityContextHolder;
 
-public class AuthTokenProvider {
-
-  private static final ThreadLocal<LoginRolesJwtAuthenticationToken> DELEGATE = new ThreadLocal<>();
-
-  public void set(LoginRolesJwtAuthenticationToken authToken) {
-    DELEGATE.set(authToken);
-  }
+/**
+ * Gives access to the token of the request being served. The token is bound by
+ * {@link com.innowise.auth.security.filter.JwtAuthenticationFilter} for the rest of the filter
+ * chain; outside of such a binding the current {@link SecurityContextHolder} authentication is
+ * used, which covers tests and security-context-propagating executors.
+ */
+@NullMarked
+public abstract class AuthTokenProvider {
 
   public LoginRolesJwtAuthenticationToken get() {
-    var authToken = DELEGATE.get();
-    if (authToken == null) {
-      throw new IllegalStateException("AuthTokenProvider has not been initialized");
+    var authToken = find();
+    if (authToken != null) {
+      return authToken;
     }
-    return authToken;
+    if (SecurityContextHolder.getContext().getAuthentication()
+        instanceof LoginRolesJwtAuthenticationToken contextAuthToken) {
+      return contextAuthToken;
+    }
+    throw new IllegalStateException("AuthTokenProvider has not been initialized");
   }
 
-  public void clear() {
-    DELEGATE.remove();
-  }
+  /**
+   * Runs {@code op} with {@code authToken} bound as the current token.
+   */
+  public abstract <R extends @Nullable Object, X extends Throwable> R callWith(
+      LoginRolesJwtAuthenticationToken authToken,
+      ScopedValue.CallableOp<? extends R, X> op) throws X;
+
+  protected abstract @Nullable LoginRolesJwtAuthenticationToken find();
 
 }
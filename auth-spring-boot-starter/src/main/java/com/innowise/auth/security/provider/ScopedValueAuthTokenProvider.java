@@ -0,0 +1,29 @@
+package com.innowise.auth.security.provider;
+
+import com.innowise.auth.security.token.LoginRolesJwtAuthenticationToken;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link AuthTokenProvider} backed by a {@link ScopedValue}. The binding ends together with the
+ * bound operation, so nothing leaks into the next request served by the same thread.
+ */
+@NullMarked
+public class ScopedValueAuthTokenProvider extends AuthTokenProvider {
+
+  private static final ScopedValue<LoginRolesJwtAuthenticationToken> AUTH_TOKEN =
+      ScopedValue.newInstance();
+
+  @Override
+  public <R extends @Nullable Object, X extends Throwable> R callWith(
+      LoginRolesJwtAuthenticationToken authToken,
+      ScopedValue.CallableOp<? extends R, X> op) throws X {
+    return ScopedValue.where(AUTH_TOKEN, authToken).call(op);
+  }
+
+  @Override
+  protected @Nullable LoginRolesJwtAuthenticationToken find() {
+    return AUTH_TOKEN.isBound() ? AUTH_TOKEN.get() : null;
+  }
+
+}
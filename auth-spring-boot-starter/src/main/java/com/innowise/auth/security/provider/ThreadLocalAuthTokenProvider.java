@@ -0,0 +1,39 @@
+package com.innowise.auth.security.provider;
+
+import com.innowise.auth.security.token.LoginRolesJwtAuthenticationToken;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link AuthTokenProvider} backed by a {@link ThreadLocal}, enabled with
+ * {@code auth.token-provider=thread-local}. The previous token is restored once the bound
+ * operation completes.
+ */
+@NullMarked
+public class ThreadLocalAuthTokenProvider extends AuthTokenProvider {
+
+  private static final ThreadLocal<LoginRolesJwtAuthenticationToken> DELEGATE = new ThreadLocal<>();
+
+  @Override
+  public <R extends @Nullable Object, X extends Throwable> R callWith(
+      LoginRolesJwtAuthenticationToken authToken,
+      ScopedValue.CallableOp<? extends R, X> op) throws X {
+    var previous = DELEGATE.get();
+    DELEGATE.set(authToken);
+    try {
+      return op.call();
+    } finally {
+      if (previous == null) {
+        DELEGATE.remove();
+      } else {
+        DELEGATE.set(previous);
+      }
+    }
+  }
+
+  @Override
+  protected @Nullable LoginRolesJwtAuthenticationToken find() {
+    return DELEGATE.get();
+  }
+
+}
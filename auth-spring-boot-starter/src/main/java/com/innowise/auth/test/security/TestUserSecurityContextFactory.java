@@ -1,12 +1,10 @@
 package com.innowise.auth.test.security;
 
 import com.innowise.auth.model.JwtUserDetails;
-import com.innowise.auth.security.provider.AuthTokenProvider;
 import com.innowise.auth.security.token.LoginRolesJwtAuthenticationToken;
 import com.innowise.auth.test.annotation.WithMockCustomUser;
 import com.innowise.auth.test.jwt.TestJwtTokenProvider;
 import java.util.Arrays;
-import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,11 +12,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithSecurityContextFactory;
 
 @NullMarked
-@RequiredArgsConstructor
 public class TestUserSecurityContextFactory implements WithSecurityContextFactory<WithMockCustomUser> {
 
-  private final AuthTokenProvider authTokenProvider;
-
   @Override
   public SecurityContext createSecurityContext(WithMockCustomUser annotation) {
     SecurityContext context = SecurityContextHolder.createEmptyContext();
@@ -32,7 +27,6 @@ public class TestUserSecurityContextFactory implements WithSecurityContextFactor
         userDetails,
         TestJwtTokenProvider.genRandomSignedAccessToken(userDetails)
     );
-    authTokenProvider.set(auth);
 		context.setAuthentication(auth);
 		return context;
   }
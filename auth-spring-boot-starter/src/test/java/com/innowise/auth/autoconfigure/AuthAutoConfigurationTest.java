@@ -0,0 +1,43 @@
+package com.innowise.auth.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AuthAutoConfigurationTest {
+
+  private final AuthAutoConfiguration authAutoConfiguration = new AuthAutoConfiguration();
+
+  @Test
+  void jwtAuthenticationConverter_principalCacheEnabled_cacheAuthentications() {
+    var properties = new PrincipalCacheProperties();
+    properties.setEnabled(true);
+    properties.setMaximumSize(10);
+    properties.setTtl(Duration.ofMinutes(1));
+
+    var converter = authAutoConfiguration.jwtAuthenticationConverter(properties);
+
+    assertThat(converter.getCache()).isNotNull();
+    assertThat(converter.getCache().policy().eviction().orElseThrow().getMaximum()).isEqualTo(10);
+  }
+
+  @Test
+  void jwtAuthenticationConverter_principalCacheDisabled_noCache() {
+    var properties = new PrincipalCacheProperties();
+    properties.setEnabled(false);
+
+    var converter = authAutoConfiguration.jwtAuthenticationConverter(properties);
+
+    assertThat(converter.getCache()).isNull();
+  }
+
+  @Test
+  void jwtAuthenticationConverter_defaultProperties_noCache() {
+    var converter = authAutoConfiguration.jwtAuthenticationConverter(
+        new PrincipalCacheProperties());
+
+    assertThat(converter.getCache()).isNull();
+  }
+
+}
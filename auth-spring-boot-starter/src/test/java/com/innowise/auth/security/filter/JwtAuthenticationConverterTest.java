@@ -0,0 +1,132 @@
+package com.innowise.auth.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.auth.model.AuthConstants;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class JwtAuthenticationConverterTest {
+
+  private static final Algorithm ALGORITHM = Algorithm.HMAC256("test-access-key");
+
+  @Test
+  void convert_sameTokenTwice_secondServedFromCache() {
+    var converter = new JwtAuthenticationConverter(100, Duration.ofMinutes(5));
+    var request = request(Instant.now().plus(1, ChronoUnit.HOURS));
+
+    var first = converter.convert(request);
+    var second = converter.convert(request);
+
+    assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+    assertThat(converter.getCache().stats().hitCount()).isEqualTo(1);
+    assertThat(converter.getCache().stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void convert_sameTokenTwice_buildAuthenticationPerRequest() {
+    var converter = new JwtAuthenticationConverter(100, Duration.ofMinutes(5));
+    var request = request(Instant.now().plus(1, ChronoUnit.HOURS));
+
+    var first = converter.convert(request);
+    first.setAuthenticated(false);
+    var second = converter.convert(request);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.isAuthenticated()).isTrue();
+    assertThat(second.getCredentials()).isEqualTo(authorization(request));
+  }
+
+  @Test
+  void convert_tokenExpiresBeforeTtl_entryExpiresWithToken() {
+    var converter = new JwtAuthenticationConverter(100, Duration.ofMinutes(5));
+    var request = request(Instant.now().plus(1, ChronoUnit.MINUTES));
+
+    converter.convert(request);
+
+    assertThat(expiresAfter(converter, request))
+        .isPositive()
+        .isLessThanOrEqualTo(Duration.ofMinutes(1));
+  }
+
+  @Test
+  void convert_tokenExpiresAfterTtl_entryExpiresWithTtl() {
+    var converter = new JwtAuthenticationConverter(100, Duration.ofSeconds(10));
+    var request = request(Instant.now().plus(1, ChronoUnit.HOURS));
+
+    converter.convert(request);
+
+    assertThat(expiresAfter(converter, request))
+        .isPositive()
+        .isLessThanOrEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void convert_tokenAlreadyExpired_notCached() {
+    var converter = new JwtAuthenticationConverter(100, Duration.ofMinutes(5));
+    var request = request(Instant.now().minus(1, ChronoUnit.MINUTES));
+
+    var first = converter.convert(request);
+    var second = converter.convert(request);
+
+    assertThat(second.getPrincipal()).isNotSameAs(first.getPrincipal());
+    assertThat(converter.getCache().getIfPresent(authorization(request))).isNull();
+  }
+
+  @Test
+  void convert_tokenExpiredWhileCached_notServedFromCache() throws InterruptedException {
+    var converter = new JwtAuthenticationConverter(100, Duration.ofMinutes(5));
+    var expiresAt = Instant.now().plusSeconds(2);
+    var request = request(expiresAt);
+
+    var first = converter.convert(request);
+    // exp has a precision of seconds, so the token may expire up to a second before expiresAt
+    Thread.sleep(Duration.between(Instant.now(), expiresAt).plusMillis(100));
+    var second = converter.convert(request);
+
+    assertThat(second.getPrincipal()).isNotSameAs(first.getPrincipal());
+    assertThat(converter.getCache().getIfPresent(authorization(request))).isNull();
+  }
+
+  @Test
+  void convert_cacheDisabled_decodeEveryTime() {
+    var converter = new JwtAuthenticationConverter();
+    var request = request(Instant.now().plus(1, ChronoUnit.HOURS));
+
+    var first = converter.convert(request);
+    var second = converter.convert(request);
+
+    assertThat(converter.getCache()).isNull();
+    assertThat(second.getPrincipal()).isNotSameAs(first.getPrincipal());
+  }
+
+  private static Duration expiresAfter(JwtAuthenticationConverter converter,
+      MockHttpServletRequest request) {
+    return converter.getCache().policy().expireVariably().orElseThrow()
+        .getExpiresAfter(authorization(request))
+        .orElseThrow();
+  }
+
+  private static String authorization(MockHttpServletRequest request) {
+    return request.getHeader(AuthConstants.AUTH_HEADER);
+  }
+
+  private static MockHttpServletRequest request(Instant expiresAt) {
+    var request = new MockHttpServletRequest();
+    request.addHeader(AuthConstants.AUTH_HEADER, AuthConstants.AUTH_SCHEME + JWT.create()
+        .withExpiresAt(expiresAt)
+        .withIssuer("auth-service")
+        .withSubject("1")
+        .withClaim(AuthConstants.USER_SERVICE_ID_CLAIM, 2L)
+        .withArrayClaim(AuthConstants.USER_ROLES_CLAIM, new String[]{"USER"})
+        .withClaim("type", "access")
+        .sign(ALGORITHM));
+    return request;
+  }
+
+}
@@ -1,6 +1,7 @@
 plugins {
     id("io.spring.dependency-management") version "1.1.7"
     id("org.springframework.boot") version "4.0.0-RC1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 dependencies {
@@ -9,10 +10,18 @@ dependencies {
     implementation("jakarta.validation:jakarta.validation-api")
 
     compileOnly("org.projectlombok:lombok")
+    compileOnly("org.springframework.kafka:spring-kafka")
     compileOnly(libs.wiremock.standalone)
     compileOnly("org.junit.jupiter:junit-jupiter-engine")
 
     annotationProcessor("org.projectlombok:lombok")
+
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.kafka:spring-kafka")
+
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    jmh("org.springframework.kafka:spring-kafka")
 }
 
 tasks.getByName("bootJar").enabled = false
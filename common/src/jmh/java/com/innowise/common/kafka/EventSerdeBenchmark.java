@@ -0,0 +1,86 @@
+package com.innowise.common.kafka;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.common.model.event.PaymentStatusUpdatedEvent;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+/**
+ * Serialization and deserialization time of a record through {@link EventSerializer} and
+ * {@link EventDeserializer}, for a topic left on JSON and one listed in
+ * {@value EventSerializer#BINARY_TOPICS_CONFIG}. Unlike {@code EventCodecBenchmark} this includes
+ * the type and content type headers the services pay for. Run with {@code ./gradlew :common:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerdeBenchmark {
+
+  private static final String JSON_TOPIC = "queuing.order_service.orders";
+  private static final String BINARY_TOPIC = "queuing.payment_service.payments";
+
+  @Param({"JSON", "BINARY"})
+  private String format;
+
+  private final EventSerializer serializer = new EventSerializer();
+  private final EventDeserializer deserializer = new EventDeserializer();
+
+  private String topic;
+  // payment status updates are the events order-service consumes in the largest batches
+  private BaseEvent event;
+  private Headers headers;
+  private byte[] data;
+
+  @Setup
+  public void setUp() {
+    serializer.configure(Map.of(EventSerializer.BINARY_TOPICS_CONFIG, BINARY_TOPIC), false);
+    deserializer.configure(Map.of(JacksonJsonDeserializer.TRUSTED_PACKAGES,
+        "com.innowise.common.model.event"), false);
+    topic = switch (format) {
+      case "JSON" -> JSON_TOPIC;
+      case "BINARY" -> BINARY_TOPIC;
+      default -> throw new IllegalArgumentException("Unknown format " + format);
+    };
+    event = new PaymentStatusUpdatedEvent(
+        "6650a1f4e13b2c5d8f9a0b1c", 1042L, PaymentStatus.PROCESSING, PaymentStatus.SUCCEEDED);
+    headers = new RecordHeaders();
+    data = serializer.serialize(topic, headers, event);
+    System.out.printf("%n%s: %d bytes%n", format, data.length);
+  }
+
+  @TearDown
+  public void tearDown() {
+    serializer.close();
+    deserializer.close();
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return serializer.serialize(topic, new RecordHeaders(), event);
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return deserializer.deserialize(topic, headers, data);
+  }
+
+}
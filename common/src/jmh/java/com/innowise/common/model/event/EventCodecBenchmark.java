@@ -0,0 +1,123 @@
+package com.innowise.common.model.event;
+
+import com.innowise.common.model.dto.card.CardDto;
+import com.innowise.common.model.dto.item.ItemDto;
+import com.innowise.common.model.dto.order.OrderDto;
+import com.innowise.common.model.dto.orderitem.OrderItemDto;
+import com.innowise.common.model.dto.payment.PaymentDto;
+import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.common.model.enums.OrderStatus;
+import com.innowise.common.model.enums.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Encoding and decoding time of {@link EventBinaryCodec} against the JSON the events are sent as
+ * otherwise, the encoded sizes are printed on setup. Run with {@code ./gradlew :common:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+  @Param({"ORDER_CREATED", "PAYMENT_CREATED", "PAYMENT_STATUS_UPDATED"})
+  private String eventType;
+
+  @Param({"5"})
+  private int orderItems;
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  private BaseEvent event;
+  private byte[] json;
+  private byte[] binary;
+
+  @Setup
+  public void setUp() {
+    event = switch (eventType) {
+      case "ORDER_CREATED" -> new OrderCreatedEvent(order(orderItems));
+      case "PAYMENT_CREATED" -> new PaymentCreatedEvent(payment());
+      case "PAYMENT_STATUS_UPDATED" -> new PaymentStatusUpdatedEvent(
+          "6650a1f4e13b2c5d8f9a0b1c", 1042L, PaymentStatus.PROCESSING, PaymentStatus.SUCCEEDED);
+      default -> throw new IllegalArgumentException("Unknown event type " + eventType);
+    };
+    json = jsonMapper.writeValueAsBytes(event);
+    binary = EventBinaryCodec.encode(event);
+    System.out.printf("%n%s: json=%d bytes, binary=%d bytes%n", eventType, json.length,
+        binary.length);
+  }
+
+  @Benchmark
+  public byte[] encodeJson() {
+    return jsonMapper.writeValueAsBytes(event);
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() {
+    return EventBinaryCodec.encode(event);
+  }
+
+  @Benchmark
+  public Object decodeJson() {
+    return jsonMapper.readValue(json, event.getClass());
+  }
+
+  @Benchmark
+  public Object decodeBinary() {
+    return EventBinaryCodec.decode(binary);
+  }
+
+  private static OrderDto order(int items) {
+    var user = new UserDto(
+        77L,
+        "John",
+        "Smith",
+        LocalDate.of(1990, 4, 12),
+        "john.smith@example.com",
+        LongStream.rangeClosed(1, 2)
+            .mapToObj(id -> new CardDto(id, "4000-1234-5678-901" + id, "JOHN SMITH",
+                LocalDate.of(2029, 1, 31), 77L))
+            .toList()
+    );
+    return new OrderDto(
+        1042L,
+        user,
+        OrderStatus.NEW,
+        LongStream.rangeClosed(1, items)
+            .mapToObj(id -> new OrderItemDto(
+                new ItemDto(id, "Item " + id, new BigDecimal("19.99").add(BigDecimal.valueOf(id))),
+                (int) id))
+            .toList()
+    );
+  }
+
+  private static PaymentDto payment() {
+    return PaymentDto.builder()
+        .id("6650a1f4e13b2c5d8f9a0b1c")
+        .orderId(1042L)
+        .userId(77L)
+        .status(PaymentStatus.PENDING)
+        .timestamp(Instant.parse("2025-06-01T12:30:45.123456Z"))
+        .amount(new BigDecimal("154.95"))
+        .build();
+  }
+
+}
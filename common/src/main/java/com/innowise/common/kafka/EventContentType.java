@@ -0,0 +1,35 @@
+package com.innowise.common.kafka;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Formats of event records, named by the {@value #HEADER} header so consumers can read topics
+ * that carry both during a rollout.
+ */
+public final class EventContentType {
+
+  public static final String HEADER = "contentType";
+
+  public static final String JSON = "application/json";
+
+  /**
+   * Events written by {@link com.innowise.common.model.event.EventBinaryCodec}.
+   */
+  public static final String BINARY = "application/vnd.innowise.event+binary";
+
+  private EventContentType() {
+  }
+
+  static void set(Headers headers, String contentType) {
+    headers.remove(HEADER);
+    headers.add(HEADER, contentType.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static boolean isBinary(Headers headers) {
+    var header = headers.lastHeader(HEADER);
+    return header != null
+        && BINARY.equals(new String(header.value(), StandardCharsets.UTF_8));
+  }
+
+}
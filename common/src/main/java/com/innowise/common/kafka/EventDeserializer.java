@@ -0,0 +1,46 @@
+package com.innowise.common.kafka;
+
+import com.innowise.common.model.event.EventBinaryCodec;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+/**
+ * Reads records written by {@link EventSerializer}, picking the format by the
+ * {@value EventContentType#HEADER} header. Records without the header are read as JSON with
+ * {@link JacksonJsonDeserializer}, so the topic may still hold records of older producers.
+ */
+public class EventDeserializer implements Deserializer<Object> {
+
+  private final JacksonJsonDeserializer<Object> jsonDeserializer = new JacksonJsonDeserializer<>();
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    jsonDeserializer.configure(configs, isKey);
+  }
+
+  @Override
+  public Object deserialize(String topic, byte[] data) {
+    return jsonDeserializer.deserialize(topic, data);
+  }
+
+  @Override
+  public Object deserialize(String topic, Headers headers, byte[] data) {
+    if (data == null || !EventContentType.isBinary(headers)) {
+      return jsonDeserializer.deserialize(topic, headers, data);
+    }
+    try {
+      return EventBinaryCodec.decode(data);
+    } catch (IllegalArgumentException e) {
+      throw new SerializationException("Can't deserialize binary event of topic " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    jsonDeserializer.close();
+  }
+
+}
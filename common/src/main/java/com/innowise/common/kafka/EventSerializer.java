@@ -0,0 +1,61 @@
+package com.innowise.common.kafka;
+
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.common.model.event.EventBinaryCodec;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+
+/**
+ * Writes events of the topics listed in {@value #BINARY_TOPICS_CONFIG} with
+ * {@link EventBinaryCodec} and everything else as JSON with {@link JacksonJsonSerializer}. The
+ * chosen format is recorded in the {@value EventContentType#HEADER} header.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+  /**
+   * Comma separated topics whose events are written in the binary format.
+   */
+  public static final String BINARY_TOPICS_CONFIG = "innowise.event.binary-topics";
+
+  private final JacksonJsonSerializer<Object> jsonSerializer = new JacksonJsonSerializer<>();
+  private Set<String> binaryTopics = Set.of();
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    jsonSerializer.configure(configs, isKey);
+    var topics = configs.get(BINARY_TOPICS_CONFIG);
+    if (topics != null) {
+      binaryTopics = Arrays.stream(topics.toString().split(","))
+          .map(String::strip)
+          .filter(topic -> !topic.isEmpty())
+          .collect(Collectors.toUnmodifiableSet());
+    }
+  }
+
+  @Override
+  public byte[] serialize(String topic, Object data) {
+    // without headers a consumer could not tell the binary format apart
+    return jsonSerializer.serialize(topic, data);
+  }
+
+  @Override
+  public byte[] serialize(String topic, Headers headers, Object data) {
+    if (binaryTopics.contains(topic) && EventBinaryCodec.supports(data)) {
+      EventContentType.set(headers, EventContentType.BINARY);
+      return EventBinaryCodec.encode((BaseEvent) data);
+    }
+    EventContentType.set(headers, EventContentType.JSON);
+    return jsonSerializer.serialize(topic, headers, data);
+  }
+
+  @Override
+  public void close() {
+    jsonSerializer.close();
+  }
+
+}
@@ -67,6 +67,16 @@ public record ErrorDto(
         .build();
   }
 
+  public static ErrorDto unavailable(String detail, String path) {
+    return builder()
+        .timestamp(OffsetDateTime.now())
+        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .title(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+        .detail(detail)
+        .instance(path)
+        .build();
+  }
+
   public static ErrorDto internal(String path) {
     return builder()
         .timestamp(OffsetDateTime.now())
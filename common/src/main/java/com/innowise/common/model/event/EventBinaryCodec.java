@@ -0,0 +1,520 @@
+package com.innowise.common.model.event;
+
+import com.innowise.common.model.dto.card.CardDto;
+import com.innowise.common.model.dto.item.ItemDto;
+import com.innowise.common.model.dto.order.OrderDto;
+import com.innowise.common.model.dto.orderitem.OrderItemDto;
+import com.innowise.common.model.dto.payment.PaymentDto;
+import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.common.model.enums.OrderStatus;
+import com.innowise.common.model.enums.PaymentStatus;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compact binary form of {@link OrderCreatedEvent}, {@link PaymentCreatedEvent} and
+ * {@link PaymentStatusUpdatedEvent}.
+ * <p>
+ * An event is written as its schema version byte, its type byte, the 16 bytes of its id and its
+ * body. The body and every nested object are structs: the byte length of the struct, a bit set of
+ * the fields that are not {@code null} and then the values of those fields in declaration order.
+ * Numbers are zigzag varints, strings are UTF-8 prefixed by their length and enums are ordinals.
+ * <p>
+ * The schema evolves by appending fields to structs and constants to enums only. A decoder skips
+ * the fields it does not know using the struct length, reads the fields an older encoder did not
+ * write as {@code null} and reads enum constants it does not know as {@code null}, so decoders of
+ * any version read events of any version. A change that can not be expressed that way needs a new
+ * event type.
+ */
+public final class EventBinaryCodec {
+
+  public static final byte SCHEMA_VERSION = 1;
+
+  private static final byte ORDER_CREATED = 1;
+  private static final byte PAYMENT_CREATED = 2;
+  private static final byte PAYMENT_STATUS_UPDATED = 3;
+
+  private static final OrderStatus[] ORDER_STATUSES = OrderStatus.values();
+  private static final PaymentStatus[] PAYMENT_STATUSES = PaymentStatus.values();
+
+  private EventBinaryCodec() {
+  }
+
+  public static boolean supports(Object value) {
+    return value instanceof OrderCreatedEvent
+        || value instanceof PaymentCreatedEvent
+        || value instanceof PaymentStatusUpdatedEvent;
+  }
+
+  public static byte[] encode(BaseEvent event) {
+    var writer = new Writer(256);
+    writer.writeByte(SCHEMA_VERSION);
+    switch (event) {
+      case OrderCreatedEvent orderCreatedEvent -> {
+        writer.writeByte(ORDER_CREATED);
+        writer.writeUuid(event.getEventId());
+        writer.writeStruct(orderCreatedEvent, (fields, e) -> fields
+            .writeStruct(e.getOrder(), EventBinaryCodec::writeOrder));
+      }
+      case PaymentCreatedEvent paymentCreatedEvent -> {
+        writer.writeByte(PAYMENT_CREATED);
+        writer.writeUuid(event.getEventId());
+        writer.writeStruct(paymentCreatedEvent, (fields, e) -> fields
+            .writeStruct(e.getPayment(), EventBinaryCodec::writePayment));
+      }
+      case PaymentStatusUpdatedEvent paymentStatusUpdatedEvent -> {
+        writer.writeByte(PAYMENT_STATUS_UPDATED);
+        writer.writeUuid(event.getEventId());
+        writer.writeStruct(paymentStatusUpdatedEvent, (fields, e) -> fields
+            .writeString(e.getId())
+            .writeLong(e.getOrderId())
+            .writeEnum(e.getPreviousStatus())
+            .writeEnum(e.getNewStatus()));
+      }
+      default -> throw new IllegalArgumentException(
+          "Unsupported event type " + event.getClass().getName());
+    }
+    return writer.toByteArray();
+  }
+
+  /**
+   * @throws IllegalArgumentException if the bytes are not an event written by {@link #encode}
+   */
+  public static BaseEvent decode(byte[] bytes) {
+    try {
+      var reader = new Reader(ByteBuffer.wrap(bytes));
+      var version = reader.readByte();
+      if (version < 1) {
+        throw new IllegalArgumentException("Unsupported schema version " + version);
+      }
+      var type = reader.readByte();
+      var eventId = reader.readUuid();
+      BaseEvent event = switch (type) {
+        case ORDER_CREATED -> reader.readStruct(fields -> new OrderCreatedEvent(
+            fields.readStruct(EventBinaryCodec::readOrder)));
+        case PAYMENT_CREATED -> reader.readStruct(fields -> new PaymentCreatedEvent(
+            fields.readStruct(EventBinaryCodec::readPayment)));
+        case PAYMENT_STATUS_UPDATED -> reader.readStruct(fields -> new PaymentStatusUpdatedEvent(
+            fields.readString(),
+            fields.readLong(),
+            fields.readEnum(PAYMENT_STATUSES),
+            fields.readEnum(PAYMENT_STATUSES)));
+        default -> throw new IllegalArgumentException("Unsupported event type " + type);
+      };
+      if (event == null) {
+        throw new IllegalArgumentException("Event body is missing");
+      }
+      event.eventId = eventId;
+      return event;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+      throw new IllegalArgumentException("Event is malformed", e);
+    }
+  }
+
+  private static void writeOrder(Fields fields, OrderDto order) {
+    fields.writeLong(order.id())
+        .writeStruct(order.user(), EventBinaryCodec::writeUser)
+        .writeEnum(order.status())
+        .writeList(order.orderItems(), EventBinaryCodec::writeOrderItem);
+  }
+
+  private static OrderDto readOrder(FieldReader fields) {
+    return new OrderDto(
+        fields.readLong(),
+        fields.readStruct(EventBinaryCodec::readUser),
+        fields.readEnum(ORDER_STATUSES),
+        fields.readList(EventBinaryCodec::readOrderItem)
+    );
+  }
+
+  private static void writeUser(Fields fields, UserDto user) {
+    fields.writeLong(user.id())
+        .writeString(user.name())
+        .writeString(user.surname())
+        .writeDate(user.birthDate())
+        .writeString(user.email())
+        .writeList(user.cards(), EventBinaryCodec::writeCard);
+  }
+
+  private static UserDto readUser(FieldReader fields) {
+    return new UserDto(
+        fields.readLong(),
+        fields.readString(),
+        fields.readString(),
+        fields.readDate(),
+        fields.readString(),
+        fields.readList(EventBinaryCodec::readCard)
+    );
+  }
+
+  private static void writeCard(Fields fields, CardDto card) {
+    fields.writeLong(card.id())
+        .writeString(card.number())
+        .writeString(card.holder())
+        .writeDate(card.expirationDate())
+        .writeLong(card.userId());
+  }
+
+  private static CardDto readCard(FieldReader fields) {
+    return new CardDto(
+        fields.readLong(),
+        fields.readString(),
+        fields.readString(),
+        fields.readDate(),
+        fields.readLong()
+    );
+  }
+
+  private static void writeOrderItem(Fields fields, OrderItemDto orderItem) {
+    fields.writeStruct(orderItem.item(), EventBinaryCodec::writeItem)
+        .writeLong(orderItem.quantity() == null ? null : orderItem.quantity().longValue());
+  }
+
+  private static OrderItemDto readOrderItem(FieldReader fields) {
+    var item = fields.readStruct(EventBinaryCodec::readItem);
+    var quantity = fields.readLong();
+    return new OrderItemDto(item, quantity == null ? null : Math.toIntExact(quantity));
+  }
+
+  private static void writeItem(Fields fields, ItemDto item) {
+    fields.writeLong(item.id())
+        .writeString(item.name())
+        .writeDecimal(item.price());
+  }
+
+  private static ItemDto readItem(FieldReader fields) {
+    return new ItemDto(
+        fields.readLong(),
+        fields.readString(),
+        fields.readDecimal()
+    );
+  }
+
+  private static void writePayment(Fields fields, PaymentDto payment) {
+    fields.writeString(payment.id())
+        .writeLong(payment.orderId())
+        .writeLong(payment.userId())
+        .writeEnum(payment.status())
+        .writeInstant(payment.timestamp())
+        .writeDecimal(payment.amount());
+  }
+
+  private static PaymentDto readPayment(FieldReader fields) {
+    return new PaymentDto(
+        fields.readString(),
+        fields.readLong(),
+        fields.readLong(),
+        fields.readEnum(PAYMENT_STATUSES),
+        fields.readInstant(),
+        fields.readDecimal()
+    );
+  }
+
+  private static final class Writer {
+
+    private byte[] bytes;
+    private int size;
+
+    private Writer(int capacity) {
+      this.bytes = new byte[capacity];
+    }
+
+    private void writeByte(int value) {
+      ensureCapacity(1);
+      bytes[size++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] value) {
+      writeBytes(value, value.length);
+    }
+
+    private void writeBytes(byte[] value, int length) {
+      ensureCapacity(length);
+      System.arraycopy(value, 0, bytes, size, length);
+      size += length;
+    }
+
+    private void writeVarLong(long value) {
+      while ((value & ~0x7FL) != 0) {
+        writeByte((int) (value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      writeByte((int) value);
+    }
+
+    private void writeZigZag(long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeUuid(UUID value) {
+      var buffer = ByteBuffer.allocate(16);
+      buffer.putLong(value.getMostSignificantBits()).putLong(value.getLeastSignificantBits());
+      writeBytes(buffer.array());
+    }
+
+    /**
+     * A {@code null} value is written as a struct of zero length, a struct that holds a value is
+     * never empty since it starts with its field bit set.
+     */
+    private <T> void writeStruct(T value, BiConsumer<Fields, T> fieldsWriter) {
+      if (value == null) {
+        writeVarLong(0);
+        return;
+      }
+      var fields = new Fields();
+      fieldsWriter.accept(fields, value);
+      writeVarLong(varLongSize(fields.present) + (long) fields.values.size);
+      writeVarLong(fields.present);
+      writeBytes(fields.values.bytes, fields.values.size);
+    }
+
+    private static int varLongSize(long value) {
+      return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+
+  }
+
+  private static final class Fields {
+
+    private final Writer values = new Writer(64);
+    private long present;
+    private int index;
+
+    private Fields writeLong(Long value) {
+      if (next(value)) {
+        values.writeZigZag(value);
+      }
+      return this;
+    }
+
+    private Fields writeString(String value) {
+      if (next(value)) {
+        var utf8 = value.getBytes(StandardCharsets.UTF_8);
+        values.writeVarLong(utf8.length);
+        values.writeBytes(utf8);
+      }
+      return this;
+    }
+
+    private Fields writeDecimal(BigDecimal value) {
+      if (next(value)) {
+        var unscaled = value.unscaledValue().toByteArray();
+        values.writeZigZag(value.scale());
+        values.writeVarLong(unscaled.length);
+        values.writeBytes(unscaled);
+      }
+      return this;
+    }
+
+    private Fields writeInstant(Instant value) {
+      if (next(value)) {
+        values.writeZigZag(value.getEpochSecond());
+        values.writeVarLong(value.getNano());
+      }
+      return this;
+    }
+
+    private Fields writeDate(LocalDate value) {
+      if (next(value)) {
+        values.writeZigZag(value.toEpochDay());
+      }
+      return this;
+    }
+
+    private Fields writeEnum(Enum<?> value) {
+      if (next(value)) {
+        values.writeVarLong(value.ordinal());
+      }
+      return this;
+    }
+
+    private <T> Fields writeStruct(T value, BiConsumer<Fields, T> fieldsWriter) {
+      if (next(value)) {
+        values.writeStruct(value, fieldsWriter);
+      }
+      return this;
+    }
+
+    private <T> Fields writeList(List<T> value, BiConsumer<Fields, T> fieldsWriter) {
+      if (next(value)) {
+        values.writeVarLong(value.size());
+        value.forEach(element -> values.writeStruct(element, fieldsWriter));
+      }
+      return this;
+    }
+
+    private boolean next(Object value) {
+      if (index == Long.SIZE) {
+        throw new IllegalStateException("A struct can not have more than 64 fields");
+      }
+      var bit = 1L << index++;
+      if (value == null) {
+        return false;
+      }
+      present |= bit;
+      return true;
+    }
+
+  }
+
+  private static final class Reader {
+
+    private final ByteBuffer buffer;
+
+    private Reader(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private byte readByte() {
+      return buffer.get();
+    }
+
+    private long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < Long.SIZE; shift += 7) {
+        var b = buffer.get();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+
+    private long readZigZag() {
+      var value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readLength() {
+      var length = readVarLong();
+      if (length < 0 || length > buffer.remaining()) {
+        throw new IllegalArgumentException("Length " + length + " exceeds the remaining "
+            + buffer.remaining() + " bytes");
+      }
+      return (int) length;
+    }
+
+    private byte[] readBytes(int length) {
+      var value = new byte[length];
+      buffer.get(value);
+      return value;
+    }
+
+    private UUID readUuid() {
+      return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Reads the fields this decoder knows and moves to the end of the struct, past any fields
+     * appended by a later schema version.
+     */
+    private <T> T readStruct(Function<FieldReader, T> fieldsReader) {
+      var length = readLength();
+      if (length == 0) {
+        return null;
+      }
+      var end = buffer.position() + length;
+      var limit = buffer.limit();
+      buffer.limit(end);
+      var value = fieldsReader.apply(new FieldReader(this, readVarLong()));
+      buffer.limit(limit);
+      buffer.position(end);
+      return value;
+    }
+
+  }
+
+  private static final class FieldReader {
+
+    private final Reader reader;
+    private final long present;
+    private int index;
+
+    private FieldReader(Reader reader, long present) {
+      this.reader = reader;
+      this.present = present;
+    }
+
+    private Long readLong() {
+      return next() ? reader.readZigZag() : null;
+    }
+
+    private String readString() {
+      return next()
+          ? new String(reader.readBytes(reader.readLength()), StandardCharsets.UTF_8)
+          : null;
+    }
+
+    private BigDecimal readDecimal() {
+      if (!next()) {
+        return null;
+      }
+      var scale = Math.toIntExact(reader.readZigZag());
+      return new BigDecimal(new BigInteger(reader.readBytes(reader.readLength())), scale);
+    }
+
+    private Instant readInstant() {
+      return next()
+          ? Instant.ofEpochSecond(reader.readZigZag(), reader.readVarLong())
+          : null;
+    }
+
+    private LocalDate readDate() {
+      return next() ? LocalDate.ofEpochDay(reader.readZigZag()) : null;
+    }
+
+    private <E extends Enum<E>> E readEnum(E[] constants) {
+      if (!next()) {
+        return null;
+      }
+      // a constant appended by a later schema version
+      var ordinal = reader.readVarLong();
+      return ordinal >= 0 && ordinal < constants.length ? constants[(int) ordinal] : null;
+    }
+
+    private <T> T readStruct(Function<FieldReader, T> fieldsReader) {
+      return next() ? reader.readStruct(fieldsReader) : null;
+    }
+
+    private <T> List<T> readList(Function<FieldReader, T> fieldsReader) {
+      if (!next()) {
+        return null;
+      }
+      // every element takes at least one byte, which bounds the size of a corrupted list
+      var size = reader.readLength();
+      var value = new ArrayList<T>(size);
+      for (int i = 0; i < size; i++) {
+        value.add(reader.readStruct(fieldsReader));
+      }
+      return value;
+    }
+
+    private boolean next() {
+      return index < Long.SIZE && (present & (1L << index++)) != 0;
+    }
+
+  }
+
+}
@@ -0,0 +1,96 @@
+package com.innowise.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for a value that was {@link #put put},
+ * but may return {@code true} for a value that was not, with a probability close to the one the
+ * filter was created with as long as the expected number of insertions is not exceeded.
+ */
+public final class BloomFilter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray bits;
+  private final long bitSize;
+  private final int hashFunctions;
+
+  private BloomFilter(long bitSize, int hashFunctions) {
+    this.bits = new AtomicLongArray(Math.toIntExact((bitSize + Long.SIZE - 1) / Long.SIZE));
+    this.bitSize = (long) bits.length() * Long.SIZE;
+    this.hashFunctions = hashFunctions;
+  }
+
+  public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive");
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("False positive probability must be in (0, 1)");
+    }
+    var bitSize = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+        / (Math.log(2) * Math.log(2)));
+    var hashFunctions = Math.max(1,
+        (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    return new BloomFilter(Math.max(Long.SIZE, bitSize), hashFunctions);
+  }
+
+  public void put(String value) {
+    var hash = hash(value);
+    var low = (int) hash;
+    var high = (int) (hash >>> 32);
+    for (int i = 1; i <= hashFunctions; i++) {
+      setBit(index(low + i * high));
+    }
+  }
+
+  public boolean mightContain(String value) {
+    var hash = hash(value);
+    var low = (int) hash;
+    var high = (int) (hash >>> 32);
+    for (int i = 1; i <= hashFunctions; i++) {
+      if (!getBit(index(low + i * high))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long index(int combinedHash) {
+    return (combinedHash & Integer.MAX_VALUE) % bitSize;
+  }
+
+  private void setBit(long index) {
+    var word = (int) (index >>> 6);
+    var mask = 1L << index;
+    long current;
+    do {
+      current = bits.get(word);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!bits.compareAndSet(word, current, current | mask));
+  }
+
+  private boolean getBit(long index) {
+    return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+  }
+
+  private static long hash(String value) {
+    var hash = FNV_OFFSET_BASIS;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= FNV_PRIME;
+    }
+    // final avalanche so that both halves are well mixed for double hashing
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+}
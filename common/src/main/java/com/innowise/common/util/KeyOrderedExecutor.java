@@ -0,0 +1,132 @@
+package com.innowise.common.util;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * Processes a list of items concurrently while keeping the order of items sharing a key.
+ * <p>
+ * Items are spread over at most {@code lanes} lanes by the hash of their key and every lane runs
+ * sequentially on its own virtual thread, so items with equal keys are handled in their original
+ * order, while items of different keys may be handled concurrently.
+ * <p>
+ * A failing lane stops at its first failure. Once all lanes are finished a
+ * {@link ProcessingFailedException} is thrown carrying the lowest index of an item that was not
+ * handled, every item before that index is guaranteed to be handled successfully.
+ */
+public final class KeyOrderedExecutor implements AutoCloseable {
+
+  private final int lanes;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public KeyOrderedExecutor(int lanes) {
+    if (lanes < 1) {
+      throw new IllegalArgumentException("Number of lanes must be positive");
+    }
+    this.lanes = lanes;
+  }
+
+  /**
+   * Handles items one by one, a lane stops at the first item its handler fails on.
+   */
+  public <T> void forEach(List<T> items, Function<T, ?> keyExtractor, Consumer<T> handler) {
+    execute(items, keyExtractor, lane -> {
+      for (var index : lane) {
+        try {
+          handler.accept(items.get(index));
+        } catch (RuntimeException e) {
+          throw new ProcessingFailedException(index, e);
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles the items of every lane at once, a failed handler fails all items of its lane.
+   */
+  public <T> void forEachLane(List<T> items, Function<T, ?> keyExtractor,
+      Consumer<List<T>> handler) {
+    execute(items, keyExtractor, lane -> {
+      try {
+        handler.accept(lane.stream().map(items::get).toList());
+      } catch (RuntimeException e) {
+        throw new ProcessingFailedException(lane.getFirst(), e);
+      }
+    });
+  }
+
+  private <T> void execute(List<T> items, Function<T, ?> keyExtractor,
+      Consumer<List<Integer>> laneTask) {
+    var laneIndexes = split(items, keyExtractor);
+    if (laneIndexes.size() <= 1) {
+      laneIndexes.forEach(laneTask);
+      return;
+    }
+
+    var futures = new ArrayList<Future<?>>(laneIndexes.size());
+    laneIndexes.forEach(lane -> futures.add(executor.submit(() -> laneTask.accept(lane))));
+
+    ProcessingFailedException failure = null;
+    for (int i = 0; i < futures.size(); i++) {
+      ProcessingFailedException laneFailure;
+      try {
+        futures.get(i).get();
+        continue;
+      } catch (ExecutionException e) {
+        laneFailure = e.getCause() instanceof ProcessingFailedException processingFailure
+            ? processingFailure
+            : new ProcessingFailedException(laneIndexes.get(i).getFirst(), e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(future -> future.cancel(true));
+        throw new ProcessingFailedException(0, e);
+      }
+      if (failure == null || laneFailure.getIndex() < failure.getIndex()) {
+        failure = laneFailure;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private <T> List<List<Integer>> split(List<T> items, Function<T, ?> keyExtractor) {
+    var laneIndexes = new LinkedHashMap<Integer, List<Integer>>();
+    for (int i = 0; i < items.size(); i++) {
+      var lane = Math.floorMod(Objects.hashCode(keyExtractor.apply(items.get(i))), lanes);
+      laneIndexes.computeIfAbsent(lane, _ -> new ArrayList<>()).add(i);
+    }
+    return List.copyOf(laneIndexes.values());
+  }
+
+  @Override
+  public void close() {
+    executor.close();
+  }
+
+  @Getter
+  public static class ProcessingFailedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4162285113780232861L;
+
+    private final int index;
+
+    public ProcessingFailedException(int index, Throwable cause) {
+      super("Failed to process item at index " + index, cause);
+      this.index = index;
+    }
+
+  }
+
+}
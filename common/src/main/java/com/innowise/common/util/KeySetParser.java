@@ -0,0 +1,43 @@
+package com.innowise.common.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the secret key sets tokens are signed and verified with, so that auth-service and the
+ * services checking its tokens agree on their format.
+ * <p>
+ * A key set is given as {@code kid:secret[,kid:secret...]}, where a bare {@code secret} gets the
+ * {@value #DEFAULT_KEY_ID} id. Keys keep their order, the first one is the signing key. A legacy
+ * single secret is taken as a whole, so a {@code :} or {@code ,} in it is not taken for a
+ * separator.
+ */
+public final class KeySetParser {
+
+  public static final String DEFAULT_KEY_ID = "default";
+
+  private KeySetParser() {
+  }
+
+  /**
+   * Returns the secrets of a key set by key id, in the order they are given.
+   */
+  public static Map<String, String> parse(String keys) {
+    var secrets = new LinkedHashMap<String, String>();
+    for (var entry : keys.split(",")) {
+      var separator = entry.indexOf(':');
+      var keyId = separator < 0 ? DEFAULT_KEY_ID : entry.substring(0, separator).trim();
+      secrets.put(keyId, entry.substring(separator + 1).trim());
+    }
+    return Collections.unmodifiableMap(secrets);
+  }
+
+  /**
+   * Returns a legacy single secret under the {@value #DEFAULT_KEY_ID} id.
+   */
+  public static Map<String, String> parseLegacy(String secret) {
+    return Map.of(DEFAULT_KEY_ID, secret.trim());
+  }
+
+}
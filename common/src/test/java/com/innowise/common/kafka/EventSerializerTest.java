@@ -0,0 +1,108 @@
+package com.innowise.common.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.common.model.event.EventBinaryCodec;
+import com.innowise.common.model.event.PaymentStatusUpdatedEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+class EventSerializerTest {
+
+  private static final String BINARY_TOPIC = "queuing.payment_service.payments";
+  private static final String JSON_TOPIC = "queuing.order_service.orders";
+
+  private final EventSerializer serializer = new EventSerializer();
+  private final EventDeserializer deserializer = new EventDeserializer();
+
+  private final PaymentStatusUpdatedEvent event = new PaymentStatusUpdatedEvent(
+      "6650a1f4e13b2c5d8f9a0b1c", 42L, PaymentStatus.PROCESSING, PaymentStatus.SUCCEEDED);
+
+  @BeforeEach
+  void configure() {
+    serializer.configure(Map.of(EventSerializer.BINARY_TOPICS_CONFIG, " " + BINARY_TOPIC + " ,"),
+        false);
+    deserializer.configure(Map.of(JacksonJsonDeserializer.TRUSTED_PACKAGES,
+        "com.innowise.common.model.event"), false);
+  }
+
+  @AfterEach
+  void close() {
+    serializer.close();
+    deserializer.close();
+  }
+
+  @Test
+  void serialize_binaryTopic_writeBinaryEvent() {
+    var headers = new RecordHeaders();
+
+    var bytes = serializer.serialize(BINARY_TOPIC, headers, event);
+
+    assertThat(contentType(headers)).isEqualTo(EventContentType.BINARY);
+    assertThat(EventBinaryCodec.decode(bytes)).usingRecursiveComparison().isEqualTo(event);
+    assertThat(deserializer.deserialize(BINARY_TOPIC, headers, bytes))
+        .isInstanceOf(PaymentStatusUpdatedEvent.class)
+        .usingRecursiveComparison()
+        .isEqualTo(event);
+  }
+
+  @Test
+  void serialize_topicNotListed_writeJson() {
+    var headers = new RecordHeaders();
+
+    var bytes = serializer.serialize(JSON_TOPIC, headers, event);
+
+    assertThat(contentType(headers)).isEqualTo(EventContentType.JSON);
+    assertThat(new String(bytes, StandardCharsets.UTF_8)).contains("\"orderId\":42");
+    assertThat(deserializer.deserialize(JSON_TOPIC, headers, bytes))
+        .isInstanceOf(PaymentStatusUpdatedEvent.class)
+        .usingRecursiveComparison()
+        .isEqualTo(event);
+  }
+
+  @Test
+  void serialize_valueNotSupportedByCodec_writeJson() {
+    var headers = new RecordHeaders();
+
+    var bytes = serializer.serialize(BINARY_TOPIC, headers, Map.of("orderId", 42));
+
+    assertThat(contentType(headers)).isEqualTo(EventContentType.JSON);
+    assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("{\"orderId\":42}");
+  }
+
+  @Test
+  void deserialize_recordWithoutContentType_readJson() {
+    var headers = new RecordHeaders();
+    var bytes = serializer.serialize(JSON_TOPIC, headers, event);
+    headers.remove(EventContentType.HEADER);
+
+    assertThat(deserializer.deserialize(JSON_TOPIC, headers, bytes))
+        .isInstanceOf(PaymentStatusUpdatedEvent.class)
+        .usingRecursiveComparison()
+        .isEqualTo(event);
+  }
+
+  @Test
+  void deserialize_malformedBinaryEvent_throwSerializationException() {
+    var headers = new RecordHeaders();
+    var bytes = serializer.serialize(BINARY_TOPIC, headers, event);
+
+    assertThatExceptionOfType(SerializationException.class)
+        .isThrownBy(() -> deserializer.deserialize(BINARY_TOPIC, headers,
+            Arrays.copyOf(bytes, bytes.length - 1)));
+  }
+
+  private static String contentType(RecordHeaders headers) {
+    return new String(headers.lastHeader(EventContentType.HEADER).value(), StandardCharsets.UTF_8);
+  }
+
+}
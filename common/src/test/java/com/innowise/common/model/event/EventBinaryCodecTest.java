@@ -0,0 +1,253 @@
+package com.innowise.common.model.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.innowise.common.model.dto.card.CardDto;
+import com.innowise.common.model.dto.item.ItemDto;
+import com.innowise.common.model.dto.order.OrderDto;
+import com.innowise.common.model.dto.orderitem.OrderItemDto;
+import com.innowise.common.model.dto.payment.PaymentDto;
+import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.common.model.enums.OrderStatus;
+import com.innowise.common.model.enums.PaymentStatus;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class EventBinaryCodecTest {
+
+  private static final byte ORDER_CREATED = 1;
+  private static final byte PAYMENT_STATUS_UPDATED = 3;
+
+  @Test
+  void decode_orderCreatedEvent_equalToEncoded() {
+    var user = new UserDto(7L, "John", null, LocalDate.of(1990, 4, 12), "john@example.com",
+        List.of(new CardDto(1L, "4000-1234-5678-9010", "JOHN", LocalDate.of(2029, 1, 31), 7L)));
+    var event = new OrderCreatedEvent(new OrderDto(42L, user, OrderStatus.NEW, List.of(
+        new OrderItemDto(new ItemDto(1L, "Item", new BigDecimal("19.99")), 2),
+        new OrderItemDto(new ItemDto(2L, null, new BigDecimal("-0.000001")), null),
+        new OrderItemDto(null, 1)
+    )));
+
+    assertRoundTrip(event);
+  }
+
+  @Test
+  void decode_orderCreatedEventWithoutNestedValues_equalToEncoded() {
+    assertRoundTrip(new OrderCreatedEvent(new OrderDto(Long.MIN_VALUE, null, null, List.of())));
+    assertRoundTrip(new OrderCreatedEvent(null));
+  }
+
+  @Test
+  void decode_paymentCreatedEvent_equalToEncoded() {
+    var event = new PaymentCreatedEvent(new PaymentDto("6650a1f4e13b2c5d8f9a0b1c", 42L, 7L,
+        PaymentStatus.PENDING, Instant.parse("2025-06-01T12:30:45.123456789Z"),
+        new BigDecimal("154.95")));
+
+    assertRoundTrip(event);
+  }
+
+  @Test
+  void decode_paymentStatusUpdatedEvent_equalToEncoded() {
+    assertRoundTrip(new PaymentStatusUpdatedEvent("6650a1f4e13b2c5d8f9a0b1c", Long.MAX_VALUE,
+        PaymentStatus.PROCESSING, PaymentStatus.SUCCEEDED));
+    assertRoundTrip(new PaymentStatusUpdatedEvent(null, null, null, PaymentStatus.FAILED));
+  }
+
+  @Test
+  void decode_fieldsOfLaterSchemaVersion_skipped() {
+    var eventId = UUID.randomUUID();
+    var item = new Struct()
+        .struct(new Struct().zigZag(5).string("Item").absent())
+        .zigZag(2)
+        // fields appended by a later version
+        .zigZag(99)
+        .string("unknown");
+    var order = new Struct()
+        .zigZag(42)
+        .absent()
+        .varLong(OrderStatus.NEW.ordinal())
+        .list(item, item)
+        .string("unknown");
+
+    var event = EventBinaryCodec.decode(event(ORDER_CREATED, eventId, new Struct().struct(order)));
+
+    var orderItem = new OrderItemDto(new ItemDto(5L, "Item", null), 2);
+    assertThat(event.getEventId()).isEqualTo(eventId);
+    assertThat(((OrderCreatedEvent) event).getOrder())
+        .isEqualTo(new OrderDto(42L, null, OrderStatus.NEW, List.of(orderItem, orderItem)));
+  }
+
+  @Test
+  void decode_fieldsMissingInOlderSchemaVersion_readAsNull() {
+    var body = new Struct()
+        .string("6650a1f4e13b2c5d8f9a0b1c")
+        .zigZag(42);
+
+    var event = (PaymentStatusUpdatedEvent) EventBinaryCodec.decode(
+        event(PAYMENT_STATUS_UPDATED, UUID.randomUUID(), body));
+
+    assertThat(event.getId()).isEqualTo("6650a1f4e13b2c5d8f9a0b1c");
+    assertThat(event.getOrderId()).isEqualTo(42L);
+    assertThat(event.getPreviousStatus()).isNull();
+    assertThat(event.getNewStatus()).isNull();
+  }
+
+  @Test
+  void decode_enumConstantOfLaterSchemaVersion_readAsNull() {
+    var body = new Struct()
+        .string("6650a1f4e13b2c5d8f9a0b1c")
+        .zigZag(42)
+        .varLong(PaymentStatus.PROCESSING.ordinal())
+        .varLong(PaymentStatus.values().length);
+
+    var event = (PaymentStatusUpdatedEvent) EventBinaryCodec.decode(
+        event(PAYMENT_STATUS_UPDATED, UUID.randomUUID(), body));
+
+    assertThat(event.getPreviousStatus()).isEqualTo(PaymentStatus.PROCESSING);
+    assertThat(event.getNewStatus()).isNull();
+  }
+
+  @Test
+  void decode_truncatedEvent_throwIllegalArgumentException() {
+    var bytes = EventBinaryCodec.encode(new PaymentCreatedEvent(new PaymentDto(
+        "6650a1f4e13b2c5d8f9a0b1c", 42L, 7L, PaymentStatus.PENDING, Instant.now(),
+        new BigDecimal("154.95"))));
+
+    IntStream.range(0, bytes.length).forEach(length ->
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> EventBinaryCodec.decode(Arrays.copyOf(bytes, length))));
+  }
+
+  @Test
+  void decode_malformedEvent_throwIllegalArgumentException() {
+    var eventId = UUID.randomUUID();
+    var unknownType = event((byte) 9, eventId, new Struct());
+    var emptyBody = event(PAYMENT_STATUS_UPDATED, eventId, null);
+    var oversizedString = event(PAYMENT_STATUS_UPDATED, eventId,
+        new Struct().bytes(new byte[]{(byte) 0xFF, 0x7F}));
+    var overlongVarint = event(PAYMENT_STATUS_UPDATED, eventId,
+        new Struct().absent().bytes(new byte[]{
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01}));
+
+    assertThatIllegalArgumentException().isThrownBy(() -> EventBinaryCodec.decode(unknownType));
+    assertThatIllegalArgumentException().isThrownBy(() -> EventBinaryCodec.decode(emptyBody));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EventBinaryCodec.decode(oversizedString));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EventBinaryCodec.decode(overlongVarint));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> EventBinaryCodec.decode(new byte[]{0}));
+  }
+
+  private static void assertRoundTrip(BaseEvent event) {
+    var decodedEvent = EventBinaryCodec.decode(EventBinaryCodec.encode(event));
+
+    assertThat(decodedEvent)
+        .isExactlyInstanceOf(event.getClass())
+        .usingRecursiveComparison()
+        .isEqualTo(event);
+  }
+
+  private static byte[] event(byte type, UUID eventId, Struct body) {
+    var bytes = new ByteArrayOutputStream();
+    bytes.write(EventBinaryCodec.SCHEMA_VERSION);
+    bytes.write(type);
+    bytes.writeBytes(ByteBuffer.allocate(16)
+        .putLong(eventId.getMostSignificantBits())
+        .putLong(eventId.getLeastSignificantBits())
+        .array());
+    if (body == null) {
+      writeVarLong(bytes, 0);
+    } else {
+      bytes.writeBytes(body.toByteArray());
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream bytes, long value) {
+    while ((value & ~0x7FL) != 0) {
+      bytes.write((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes.write((int) value);
+  }
+
+  /**
+   * Struct written field by field, so a test can lay out what an encoder of another schema version
+   * would have written.
+   */
+  private static final class Struct {
+
+    private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+    private long present;
+    private int index;
+
+    private Struct absent() {
+      index++;
+      return this;
+    }
+
+    private Struct varLong(long value) {
+      present |= 1L << index++;
+      writeVarLong(values, value);
+      return this;
+    }
+
+    private Struct zigZag(long value) {
+      return varLong((value << 1) ^ (value >> 63));
+    }
+
+    private Struct string(String value) {
+      var utf8 = value.getBytes(StandardCharsets.UTF_8);
+      varLong(utf8.length);
+      values.writeBytes(utf8);
+      return this;
+    }
+
+    private Struct struct(Struct value) {
+      present |= 1L << index++;
+      values.writeBytes(value.toByteArray());
+      return this;
+    }
+
+    private Struct list(Struct... elements) {
+      varLong(elements.length);
+      for (var element : elements) {
+        values.writeBytes(element.toByteArray());
+      }
+      return this;
+    }
+
+    /**
+     * Raw bytes of the next field.
+     */
+    private Struct bytes(byte[] value) {
+      present |= 1L << index++;
+      values.writeBytes(value);
+      return this;
+    }
+
+    private byte[] toByteArray() {
+      var header = new ByteArrayOutputStream();
+      writeVarLong(header, present);
+      var struct = new ByteArrayOutputStream();
+      writeVarLong(struct, header.size() + values.size());
+      struct.writeBytes(header.toByteArray());
+      struct.writeBytes(values.toByteArray());
+      return struct.toByteArray();
+    }
+
+  }
+
+}
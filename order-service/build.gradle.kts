@@ -29,6 +29,7 @@ dependencies {
     implementation(libs.mapstruct)
     implementation("org.springframework.boot:spring-boot-starter-kafka")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
 
     compileOnly("org.projectlombok:lombok")
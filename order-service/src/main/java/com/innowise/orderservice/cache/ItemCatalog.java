@@ -0,0 +1,180 @@
+package com.innowise.orderservice.cache;
+
+import com.innowise.common.exception.ResourceNotFoundException;
+import com.innowise.orderservice.config.ItemCatalogConfig;
+import com.innowise.orderservice.model.dto.item.ItemDto;
+import com.innowise.orderservice.model.mapper.ItemMapper;
+import com.innowise.orderservice.repository.ItemRepository;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * In-process cache of the whole item catalog, kept as pre-serialized JSON together with strong
+ * ETags.
+ * <p>
+ * The catalog is versioned: every write through {@code ItemService} must call
+ * {@link #onItemsChanged()}, which bumps the version once the surrounding transaction completes.
+ * A snapshot built for an older version is reloaded from the database on the next read.
+ */
+@Component
+@NullMarked
+@RequiredArgsConstructor
+@Slf4j
+public class ItemCatalog {
+
+  private static final String ETAG_ALGORITHM = "SHA-256";
+  private static final int ETAG_BYTES = 16;
+
+  private final ItemRepository itemRepository;
+  private final ItemMapper itemMapper;
+  private final JsonMapper jsonMapper;
+  private final ItemCatalogConfig itemCatalogConfig;
+
+  private final AtomicLong version = new AtomicLong();
+  private volatile @Nullable Snapshot snapshot;
+
+  public Entry findAll() {
+    if (!itemCatalogConfig.isEnabled()) {
+      return toEntry(itemRepository.findAll(Sort.by("id")).stream()
+          .map(item -> toEntry(itemMapper.toDto(item)))
+          .toList());
+    }
+    return snapshot().all();
+  }
+
+  public Entry findById(Long id) {
+    if (!itemCatalogConfig.isEnabled()) {
+      return itemRepository.findById(id)
+          .map(item -> toEntry(itemMapper.toDto(item)))
+          .orElseThrow(() -> ResourceNotFoundException.byId("Item", id));
+    }
+    var entry = snapshot().items().get(id);
+    if (entry == null) {
+      throw ResourceNotFoundException.byId("Item", id);
+    }
+    return entry;
+  }
+
+  public Entry findByIdIn(Collection<Long> ids) {
+    if (!itemCatalogConfig.isEnabled()) {
+      return toEntry(itemRepository.findAllById(ids).stream()
+          .map(item -> toEntry(itemMapper.toDto(item)))
+          .toList());
+    }
+    var items = snapshot().items();
+    return toEntry(ids.stream()
+        .distinct()
+        .map(items::get)
+        .filter(Objects::nonNull)
+        .toList());
+  }
+
+  public long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Invalidates the catalog once the current transaction, if any, completes.
+   */
+  public void onItemsChanged() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      version.incrementAndGet();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        version.incrementAndGet();
+      }
+    });
+  }
+
+  private Snapshot snapshot() {
+    var current = snapshot;
+    if (current != null && current.version() == version.get()) {
+      return current;
+    }
+    synchronized (this) {
+      current = snapshot;
+      // the version is read before loading, so a write committed meanwhile forces another reload
+      var currentVersion = version.get();
+      if (current == null || current.version() != currentVersion) {
+        current = load(currentVersion);
+        snapshot = current;
+      }
+      return current;
+    }
+  }
+
+  private Snapshot load(long snapshotVersion) {
+    var items = new LinkedHashMap<Long, Entry>();
+    itemRepository.findAll(Sort.by("id")).forEach(item -> {
+      var itemDto = itemMapper.toDto(item);
+      items.put(itemDto.id(), toEntry(itemDto));
+    });
+    log.debug("Loaded item catalog (version={}, size={})", snapshotVersion, items.size());
+    return new Snapshot(snapshotVersion, toEntry(List.copyOf(items.values())),
+        Map.copyOf(items));
+  }
+
+  private Entry toEntry(ItemDto itemDto) {
+    return Entry.of(jsonMapper.writeValueAsBytes(itemDto));
+  }
+
+  private static Entry toEntry(List<Entry> entries) {
+    var json = new ByteArrayOutputStream();
+    json.write('[');
+    for (int i = 0; i < entries.size(); i++) {
+      if (i > 0) {
+        json.write(',');
+      }
+      json.writeBytes(entries.get(i).json());
+    }
+    json.write(']');
+    return Entry.of(json.toByteArray());
+  }
+
+  private record Snapshot(long version, Entry all, Map<Long, Entry> items) {
+
+  }
+
+  /**
+   * Serialized JSON of one item or a list of items with its strong ETag.
+   */
+  public record Entry(byte[] json, String eTag) {
+
+    static Entry of(byte[] json) {
+      return new Entry(json, eTag(json));
+    }
+
+    private static String eTag(byte[] json) {
+      try {
+        var digest = MessageDigest.getInstance(ETAG_ALGORITHM).digest(json);
+        return "\"" + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(Arrays.copyOf(digest, ETAG_BYTES)) + "\"";
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.innowise.orderservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.orderservice.config.UserCacheConfig;
+import com.innowise.orderservice.service.client.UserServiceClient;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+
+/**
+ * Near-cache of {@link UserDto} placed in front of {@link UserServiceClient}.
+ * <p>
+ * Entries expire individually after the configured TTL and are bounded by size. user-service
+ * publishes no user changes, so nothing invalidates entries earlier: a changed or removed user may
+ * be served stale for up to the TTL.
+ */
+@Component
+@NullMarked
+@RequiredArgsConstructor
+public class UserCache {
+
+  private final UserServiceClient userServiceClient;
+  private final Cache<Long, UserDto> userDtoCache;
+  private final UserCacheConfig userCacheConfig;
+
+  public UserDto findById(Long id, String authorization) {
+    if (!userCacheConfig.isEnabled()) {
+      return userServiceClient.findById(id, authorization);
+    }
+    return userDtoCache.get(id, key -> userServiceClient.findById(key, authorization));
+  }
+
+  public Map<Long, UserDto> findAllByIds(Set<Long> ids, String authorization) {
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    if (!userCacheConfig.isEnabled()) {
+      return toMap(userServiceClient.findAllByIds(ids, authorization));
+    }
+    var users = new HashMap<>(userDtoCache.getAllPresent(ids));
+    var missingIds = new HashSet<>(ids);
+    missingIds.removeAll(users.keySet());
+    if (!missingIds.isEmpty()) {
+      var fetched = toMap(userServiceClient.findAllByIds(missingIds, authorization));
+      userDtoCache.putAll(fetched);
+      users.putAll(fetched);
+    }
+    return users;
+  }
+
+  private Map<Long, UserDto> toMap(Collection<UserDto> users) {
+    var result = new HashMap<Long, UserDto>();
+    users.forEach(user -> result.putIfAbsent(user.id(), user));
+    return result;
+  }
+
+}
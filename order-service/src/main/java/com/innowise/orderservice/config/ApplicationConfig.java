@@ -3,6 +3,8 @@ package com.innowise.orderservice.config;
 import feign.FeignException;
 import feign.Logger;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
 import org.springframework.cloud.client.circuitbreaker.Customizer;
@@ -28,6 +30,11 @@ public class ApplicationConfig {
     );
   }
 
+  @Bean(destroyMethod = "close")
+  public ExecutorService virtualThreadExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+
   @Bean
   public Logger.Level feignLoggerLevel() {
     return Logger.Level.BASIC;
@@ -0,0 +1,25 @@
+package com.innowise.orderservice.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings of the processed events store. Event ids are kept in one Redis set per consumer group
+ * and {@link #bucket time bucket}, each expiring once it falls out of the {@link #retention}
+ * window. Every bucket is fronted by a local Bloom filter sized for {@link #expectedInsertions}.
+ */
+@Configuration
+@ConfigurationProperties("idempotency")
+@Data
+@NullMarked
+public class IdempotencyConfig {
+
+  private Duration retention = Duration.ofDays(7);
+  private Duration bucket = Duration.ofDays(1);
+  private long expectedInsertions = 100_000;
+  private double falsePositiveProbability = 0.01;
+
+}
@@ -0,0 +1,16 @@
+package com.innowise.orderservice.config;
+
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties("items.catalog.cache")
+@Data
+@NullMarked
+public class ItemCatalogConfig {
+
+  private boolean enabled = true;
+
+}
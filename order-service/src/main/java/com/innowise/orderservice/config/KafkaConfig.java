@@ -1,13 +1,18 @@
 package com.innowise.orderservice.config;
 
 import com.innowise.common.exception.ExternalApiException;
+import com.innowise.common.util.KeyOrderedExecutor;
+import com.innowise.orderservice.service.EventService;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.Predicate;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.PropertyMapper;
@@ -23,9 +28,10 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaAdmin.NewTopics;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties.AckMode;
-import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
-import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.util.backoff.BackOff;
 
 @Configuration
@@ -34,8 +40,11 @@ import org.springframework.util.backoff.BackOff;
 @NullMarked
 public class KafkaConfig {
 
+  private static final String DLT_SUFFIX = "-dlt";
+
   private Map<String, TopicConfig> topics;
   private KafkaProperties.Retry retry;
+  private ProcessingConfig processing = new ProcessingConfig();
 
   @Bean
   public KafkaAdmin.NewTopics topics() {
@@ -52,35 +61,43 @@ public class KafkaConfig {
   }
 
   @Bean
-  public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(ConsumerFactory<String, String> consumerFactory) {
+  public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+      ConsumerFactory<String, String> consumerFactory,
+      KafkaTemplate<String, String> kafkaTemplate,
+      EventService eventService
+  ) {
     var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
     factory.setConsumerFactory(consumerFactory);
-    factory.getContainerProperties().setAckMode(AckMode.MANUAL_IMMEDIATE);
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+    factory.getContainerProperties().setConsumerRebalanceListener(
+        new ConsumerAwareRebalanceListener() {
+          @Override
+          public void onPartitionsAssigned(Consumer<?, ?> consumer,
+              Collection<TopicPartition> partitions) {
+            // events of the assigned partitions may have been processed by another instance
+            eventService.resetFilters(consumer.groupMetadata().groupId());
+          }
+        });
+    var errorHandler = new DefaultErrorHandler(
+        new DeadLetterPublishingRecoverer(kafkaTemplate,
+            (consumerRecord, _) -> new TopicPartition(consumerRecord.topic() + DLT_SUFFIX, -1)),
+        getBackOff(retry.getTopic().getBackoff(), retry.getTopic().getAttempts() - 1L)
+    );
+    errorHandler.defaultFalse();
+    errorHandler.addRetryableExceptions(DataAccessException.class, ExternalApiException.class);
+    factory.setCommonErrorHandler(errorHandler);
     return factory;
   }
 
   @Bean
-  public RetryTopicConfiguration retryTopicConfiguration(
-      KafkaTemplate<String, String> kafkaTemplate,
-      ConcurrentKafkaListenerContainerFactory<String, String> concurrentKafkaListenerContainerFactory
-  ) {
-    return RetryTopicConfigurationBuilder
-        .newInstance()
-        .listenerFactory(concurrentKafkaListenerContainerFactory)
-        .customBackoff(getBackOff(retry.getTopic().getBackoff()))
-        .excludeTopics(topics.values().stream()
-            .filter(TopicConfig::isCreate)
-            .map(TopicConfig::getName)
-            .toList()
-        )
-        .retryOn(DataAccessException.class)
-        .retryOn(ExternalApiException.class)
-        .create(kafkaTemplate);
+  public KeyOrderedExecutor keyOrderedExecutor() {
+    return new KeyOrderedExecutor(processing.getParallelism());
   }
 
-  private BackOff getBackOff(Backoff retryTopicBackoff) {
+  private BackOff getBackOff(Backoff retryTopicBackoff, long maxRetries) {
     PropertyMapper map = PropertyMapper.get();
-    RetryPolicy.Builder builder = RetryPolicy.builder().maxRetries(Long.MAX_VALUE);
+    RetryPolicy.Builder builder = RetryPolicy.builder().maxRetries(maxRetries);
     map.from(retryTopicBackoff.getDelay()).to(builder::delay);
     map.from(retryTopicBackoff.getMaxDelay()).when(Predicate.not(Duration::isZero))
         .to(builder::maxDelay);
@@ -101,4 +118,16 @@ public class KafkaConfig {
 
   }
 
+  /**
+   * Number of lanes the records of a single poll are spread over by key, see
+   * {@link KeyOrderedExecutor}.
+   */
+  @Getter
+  @Setter
+  private static class ProcessingConfig {
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  }
+
 }
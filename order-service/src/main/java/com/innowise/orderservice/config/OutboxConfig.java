@@ -0,0 +1,21 @@
+package com.innowise.orderservice.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConfigurationProperties("outbox.relay")
+@Data
+@NullMarked
+public class OutboxConfig {
+
+  private int batchSize = 100;
+  private Duration linger = Duration.ofMillis(200);
+  private Duration sendTimeout = Duration.ofSeconds(10);
+
+}
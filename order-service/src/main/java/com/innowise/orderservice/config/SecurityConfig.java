@@ -1,5 +1,6 @@
 package com.innowise.orderservice.config;
 
+import com.innowise.auth.security.filter.JwtAuthenticationConverter;
 import com.innowise.auth.security.filter.JwtAuthenticationFilter;
 import com.innowise.auth.security.provider.AuthTokenProvider;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class SecurityConfig {
 
   private final AuthenticationManager authenticationManager;
   private final AuthTokenProvider authTokenProvider;
+  private final JwtAuthenticationConverter jwtAuthenticationConverter;
 
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) {
@@ -42,7 +44,8 @@ public class SecurityConfig {
         .addFilterAfter(new JwtAuthenticationFilter(
                 PathPatternRequestMatcher.pathPattern("/api/v1/orders/**"),
                 authenticationManager,
-                authTokenProvider
+                authTokenProvider,
+                jwtAuthenticationConverter
             ), LogoutFilter.class
         );
     return http.build();
@@ -0,0 +1,37 @@
+package com.innowise.orderservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.common.model.dto.user.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties("services.user-service.cache")
+@Data
+@NullMarked
+public class UserCacheConfig {
+
+  public static final String USER_CACHE = "users";
+
+  private boolean enabled = true;
+  private long maximumSize = 10_000;
+  private Duration ttl = Duration.ofMinutes(5);
+
+  @Bean
+  public Cache<Long, UserDto> userDtoCache(MeterRegistry meterRegistry) {
+    Cache<Long, UserDto> cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    return CaffeineCacheMetrics.monitor(meterRegistry, cache, USER_CACHE);
+  }
+
+}
@@ -1,60 +1,93 @@
 package com.innowise.orderservice.controller.kafka.consumer;
 
-import com.innowise.common.model.event.PaymentCreatedEvent;
-import com.innowise.common.model.event.PaymentStatusUpdatedEvent;
+import com.innowise.common.exception.ResourceNotFoundException;
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.common.util.KeyOrderedExecutor;
+import com.innowise.common.util.KeyOrderedExecutor.ProcessingFailedException;
 import com.innowise.orderservice.service.EventService;
 import com.innowise.orderservice.service.OrderService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.jspecify.annotations.NullMarked;
-import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.KafkaUtils;
 import org.springframework.stereotype.Component;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 @NullMarked
-@KafkaListener(
-    topics = "${spring.kafka.topics.payments.name}",
-    containerFactory = "kafkaListenerContainerFactory"
-)
 public class PaymentListener {
 
   private final OrderService orderService;
   private final EventService eventService;
+  private final KeyOrderedExecutor keyOrderedExecutor;
 
-  @KafkaHandler
-  public void consumePaymentCreatedEvent(
-      @Payload PaymentCreatedEvent event,
-      @Header(KafkaHeaders.GROUP_ID) String groupId,
+  @KafkaListener(
+      topics = "${spring.kafka.topics.payments.name}",
+      containerFactory = "kafkaListenerContainerFactory"
+  )
+  public void consumePaymentEvents(
+      List<ConsumerRecord<String, Object>> records,
       Acknowledgment acknowledgment) {
-    log.info("Received PaymentCreatedEvent (Event={})", event);
-    if (eventService.isEventProcessed(groupId, event.getEventId().toString())) {
-      log.info("Skip PaymentCreatedEvent{id={}} (had already processed earlier)", event.getEventId());
-      return;
+    var groupId = KafkaUtils.getConsumerGroupId();
+    log.info("Received {} payment events", records.size());
+
+    var pendingRecords = new LinkedHashMap<String, ConsumerRecord<String, Object>>();
+    records.forEach(consumerRecord -> {
+      if (consumerRecord.value() instanceof BaseEvent event) {
+        pendingRecords.putIfAbsent(event.getEventId().toString(), consumerRecord);
+      } else {
+        log.warn("Skip unsupported payment event (offset={}, partition={})",
+            consumerRecord.offset(), consumerRecord.partition());
+      }
+    });
+
+    var processedEventIds = eventService.findProcessedEvents(groupId, pendingRecords.keySet());
+    processedEventIds.forEach(eventId -> {
+      log.info("Skip payment event{id={}} (had already processed earlier)", eventId);
+      pendingRecords.remove(eventId);
+    });
+
+    // records of one order share a key, so they stay in order within their lane. Every lane is
+    // applied in its own transaction, so a poll commits up to spring.kafka.processing.parallelism
+    // transactions instead of one, and a failed lane rolls back only its own records
+    var pending = List.copyOf(pendingRecords.values());
+    var orphanOrderIds = new ConcurrentHashMap<String, Long>();
+    try {
+      keyOrderedExecutor.forEachLane(pending, ConsumerRecord::key, lane -> {
+        var events = lane.stream()
+            .map(consumerRecord -> (BaseEvent) consumerRecord.value())
+            .toList();
+        orderService.processPaymentEvents(events).forEach((orderId, orphans) -> orphans.forEach(
+            orphan -> orphanOrderIds.put(orphan.getEventId().toString(), orderId)));
+        eventService.saveProcessedEvents(groupId, events.stream()
+            .map(event -> event.getEventId().toString())
+            .filter(eventId -> !orphanOrderIds.containsKey(eventId))
+            .toList());
+      });
+    } catch (ProcessingFailedException e) {
+      // offsets are committed up to the first record which was not processed
+      throw new BatchListenerFailedException("Failed to process payment events", e.getCause(),
+          pending.get(e.getIndex()));
     }
-    orderService.processPaymentCreation(event.getPayment());
-    eventService.saveProcessedEvent(groupId, event.getEventId().toString());
-    acknowledgment.acknowledge();
-  }
 
-  @KafkaHandler
-  public void consumePaymentStatusUpdatedEvent(
-      @Payload PaymentStatusUpdatedEvent event,
-      @Header(KafkaHeaders.GROUP_ID) String groupId,
-      Acknowledgment acknowledgment) {
-    log.info("Received PaymentStatusUpdatedEvent (Event={})", event);
-    if (eventService.isEventProcessed(groupId, event.getEventId().toString())) {
-      log.info("Skip PaymentStatusUpdateEvent{id={}} (had already processed earlier)", event.getEventId());
-      return;
+    // events of missing orders are not retried, the error handler sends the first one to the DLT
+    // and redelivers the rest, whose other events are skipped as processed
+    for (var consumerRecord : pending) {
+      var event = (BaseEvent) consumerRecord.value();
+      var orderId = orphanOrderIds.get(event.getEventId().toString());
+      if (orderId != null) {
+        throw new BatchListenerFailedException("Payment event refers to a missing order",
+            ResourceNotFoundException.byId("Order", orderId), consumerRecord);
+      }
     }
-    orderService.processPaymentUpdate(event.getOrderId(), event.getNewStatus());
-    eventService.saveProcessedEvent(groupId, event.getEventId().toString());
     acknowledgment.acknowledge();
   }
 
@@ -3,14 +3,18 @@ package com.innowise.orderservice.controller.kafka.producer;
 import com.innowise.common.model.event.OrderCreatedEvent;
 import com.innowise.orderservice.model.dto.order.OrderDto;
 import com.innowise.orderservice.model.mapper.OrderMapper;
+import com.innowise.orderservice.service.OutboxService;
+import java.util.LinkedHashMap;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publishes order events through the transactional outbox. Events are written in the caller's
+ * transaction and delivered to Kafka by {@link OutboxRelay} once that transaction commits.
+ */
 @RequiredArgsConstructor
 @Slf4j
 @NullMarked
@@ -19,21 +23,28 @@ public class OrderProducer {
 
   private static final String TOPIC = "queuing.order_service.orders";
 
-  private final KafkaTemplate<String, String> kafkaTemplate;
+  private final OutboxService outboxService;
   private final OrderMapper orderMapper;
 
   public void sendOrderCreated(OrderDto order) {
     sendMessage(new OrderCreatedEvent(orderMapper.toExternalDto(order)), String.valueOf(order.id()));
   }
 
-  private <T> void sendMessage(T payload, String key) {
-    kafkaTemplate.send(MessageBuilder
-        .withPayload(payload)
-        .setHeader(KafkaHeaders.TOPIC, TOPIC)
-        .setHeader(KafkaHeaders.KEY, key)
-        .build()
-    );
-    log.info("{} (Event={}) sent to topic: {}", payload.getClass().getSimpleName(), payload, TOPIC);
+  public void sendOrdersCreated(List<OrderDto> orders) {
+    if (orders.isEmpty()) {
+      return;
+    }
+    var events = new LinkedHashMap<String, OrderCreatedEvent>();
+    orders.forEach(order -> events.put(String.valueOf(order.id()),
+        new OrderCreatedEvent(orderMapper.toExternalDto(order))));
+    outboxService.saveAll(TOPIC, events);
+    log.info("{} OrderCreatedEvents queued for topic: {}", events.size(), TOPIC);
+  }
+
+  private void sendMessage(OrderCreatedEvent payload, String key) {
+    outboxService.save(TOPIC, key, payload);
+    log.info("{} (Event={}) queued for topic: {}", payload.getClass().getSimpleName(), payload,
+        TOPIC);
   }
 
 }
@@ -0,0 +1,134 @@
+package com.innowise.orderservice.controller.kafka.producer;
+
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.orderservice.config.OutboxConfig;
+import com.innowise.orderservice.model.entity.BaseEntity;
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Drains the outbox table into Kafka.
+ * <p>
+ * Each batch is locked, sent without waiting for individual acknowledgements, and deleted only
+ * after every send of the batch has completed. A failed batch is rolled back and retried on the
+ * next run, so delivery is at-least-once and consumers rely on event id idempotency.
+ * <p>
+ * An event that cannot be read back, because its type is unknown or its payload does not
+ * deserialize, would fail every run again. It is marked as failed and left in the table instead,
+ * counted by {@value #QUARANTINED_METRIC}, and the rest of the batch is relayed.
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+  private static final String QUARANTINED_METRIC = "outbox.events.quarantined";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final KafkaTemplate<String, String> kafkaTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final JsonMapper jsonMapper;
+  private final OutboxConfig outboxConfig;
+  private final MeterRegistry meterRegistry;
+
+  @Scheduled(fixedDelayString = "${outbox.relay.linger:200ms}")
+  public void relay() {
+    try {
+      int relayed;
+      do {
+        relayed = Objects.requireNonNullElse(transactionTemplate.execute(_ -> relayBatch()), 0);
+      } while (relayed == outboxConfig.getBatchSize());
+    } catch (RuntimeException e) {
+      log.warn("Outbox relay failed, batch will be retried: {}", e.getMessage(), e);
+    }
+  }
+
+  private int relayBatch() {
+    var events = outboxEventRepository.findAllByFailedAtIsNullOrderByIdAsc(
+        Limit.of(outboxConfig.getBatchSize()));
+    if (events.isEmpty()) {
+      return 0;
+    }
+    var sends = new ArrayList<CompletableFuture<?>>(events.size());
+    var relayedIds = new ArrayList<Long>(events.size());
+    events.forEach(event -> {
+      var payload = readPayload(event);
+      if (payload != null) {
+        sends.add(send(event, payload));
+        relayedIds.add(event.getId());
+      }
+    });
+    awaitAll(sends);
+    if (!relayedIds.isEmpty()) {
+      outboxEventRepository.deleteAllByIdInBatch(relayedIds);
+    }
+    log.debug("Relayed {} outbox events", relayedIds.size());
+    return events.size();
+  }
+
+  private CompletableFuture<?> send(OutboxEvent event, BaseEvent payload) {
+    return kafkaTemplate.send(MessageBuilder
+        .withPayload(payload)
+        .setHeader(KafkaHeaders.TOPIC, event.getTopic())
+        .setHeader(KafkaHeaders.KEY, event.getKey())
+        .build()
+    );
+  }
+
+  private @Nullable BaseEvent readPayload(OutboxEvent event) {
+    try {
+      var type = Class.forName(event.getType()).asSubclass(BaseEvent.class);
+      return jsonMapper.readValue(event.getPayload(), type);
+    } catch (ClassNotFoundException | ClassCastException | JacksonException e) {
+      quarantine(event, e);
+      return null;
+    }
+  }
+
+  /**
+   * Marks the event as failed, the change is committed along with the rest of the batch.
+   */
+  private void quarantine(OutboxEvent event, Exception cause) {
+    event.setFailedAt(LocalDateTime.now());
+    event.setFailure(cause.toString());
+    meterRegistry.counter(QUARANTINED_METRIC).increment();
+    log.error("Outbox event (id={}, type={}) cannot be read and is no longer relayed",
+        event.getId(), event.getType(), cause);
+  }
+
+  private void awaitAll(List<CompletableFuture<?>> futures) {
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+          .get(outboxConfig.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while relaying outbox events", e);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Failed to relay outbox events", e);
+    }
+  }
+
+}
@@ -1,5 +1,6 @@
 package com.innowise.orderservice.controller.rest;
 
+import com.innowise.orderservice.cache.ItemCatalog;
 import com.innowise.orderservice.model.dto.ItemsConstraints;
 import com.innowise.orderservice.model.dto.item.ItemDto;
 import com.innowise.orderservice.service.ItemService;
@@ -8,6 +9,7 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -29,24 +31,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class ItemController {
 
   private final ItemService itemService;
+  private final ItemCatalog itemCatalog;
 
   @GetMapping
   @PreAuthorize("hasAuthority(T(com.innowise.auth.model.Role).USER)")
-  public ResponseEntity<List<ItemDto>> findAll(
+  public ResponseEntity<byte[]> findAll(
       @RequestParam(required = false) @Nullable List<Long> ids) {
-    List<ItemDto> items;
     if (ids == null) {
-      items = itemService.findAll();
-    } else {
-      items = itemService.findByIdIn(ids);
+      return toResponse(itemCatalog.findAll());
     }
-    return ResponseEntity.ok(items);
+    return toResponse(itemCatalog.findByIdIn(ids));
   }
 
   @GetMapping("/{id}")
   @PreAuthorize("hasAuthority(T(com.innowise.auth.model.Role).USER)")
-  public ResponseEntity<ItemDto> findById(@PathVariable Long id) {
-    return ResponseEntity.ok(itemService.findById(id));
+  public ResponseEntity<byte[]> findById(@PathVariable Long id) {
+    return toResponse(itemCatalog.findById(id));
   }
 
   @PostMapping
@@ -80,4 +80,15 @@ public class ItemController {
         .location(URI.create("api/v1/orders/items/" + id))
         .build();
   }
+
+  /**
+   * {@code If-None-Match} is evaluated against the ETag by Spring, answering 304 on a match.
+   */
+  private ResponseEntity<byte[]> toResponse(ItemCatalog.Entry entry) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(entry.eTag())
+        .body(entry.json());
+  }
+
 }
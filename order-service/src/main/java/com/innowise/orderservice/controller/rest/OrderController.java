@@ -2,14 +2,21 @@ package com.innowise.orderservice.controller.rest;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import com.innowise.orderservice.model.dto.OrdersConstraints;
+import com.innowise.orderservice.model.dto.order.OrderBatchDto;
+import com.innowise.orderservice.model.dto.order.OrderBatchResultDto;
 import com.innowise.orderservice.model.dto.order.OrderDto;
 import com.innowise.orderservice.model.dto.order.OrderSpecsDto;
+import com.innowise.orderservice.model.dto.order.OrderSummaryDto;
 import com.innowise.orderservice.model.enums.OrderStatus;
 import com.innowise.orderservice.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -22,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
 
 @RequiredArgsConstructor
 @NullMarked
@@ -29,7 +37,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/v1/orders")
 public class OrderController {
 
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final OrderService orderService;
+  private final JsonMapper jsonMapper;
 
   @GetMapping("/{id}")
   public ResponseEntity<OrderDto> findById(@PathVariable Long id) {
@@ -40,14 +51,76 @@ public class OrderController {
   public ResponseEntity<List<OrderDto>> findAll(
       @RequestParam(required = false) Long userId,
       @RequestParam(required = false) List<Long> ids,
-      @RequestParam(required = false) List<OrderStatus> statuses
+      @RequestParam(required = false) List<OrderStatus> statuses,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) Boolean fullDetails
   ) {
-    return ResponseEntity.ok(orderService.findAll(OrderSpecsDto.builder()
+    var page = orderService.findAll(OrderSpecsDto.builder()
         .userId(userId)
         .ids(ids)
         .statuses(statuses)
-        .build())
+        .cursor(cursor)
+        .limit(limit)
+        .fullDetails(fullDetails)
+        .build()
     );
+    var response = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return response.body(page.content());
+  }
+
+  @GetMapping("/summaries")
+  public ResponseEntity<List<OrderSummaryDto>> findAllSummaries(
+      @RequestParam(required = false) Long userId,
+      @RequestParam(required = false) List<Long> ids,
+      @RequestParam(required = false) List<OrderStatus> statuses,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit
+  ) {
+    var page = orderService.findAllSummaries(OrderSpecsDto.builder()
+        .userId(userId)
+        .ids(ids)
+        .statuses(statuses)
+        .cursor(cursor)
+        .limit(limit)
+        .build()
+    );
+    var response = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return response.body(page.content());
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void streamAll(
+      @RequestParam(required = false) Long userId,
+      @RequestParam(required = false) List<Long> ids,
+      @RequestParam(required = false) List<OrderStatus> statuses,
+      @RequestParam(required = false) Boolean fullDetails,
+      HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    var outputStream = response.getOutputStream();
+    orderService.streamAll(OrderSpecsDto.builder()
+            .userId(userId)
+            .ids(ids)
+            .statuses(statuses)
+            .fullDetails(fullDetails)
+            .build(),
+        orderDto -> {
+          try {
+            outputStream.write(jsonMapper.writeValueAsBytes(orderDto));
+            outputStream.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+    );
+    outputStream.flush();
   }
 
   @PostMapping
@@ -62,6 +135,16 @@ public class OrderController {
         .body(createdOrderDto);
   }
 
+  @PostMapping("/batch")
+  public ResponseEntity<List<OrderBatchResultDto>> createAll(
+      @RequestBody
+      @Validated(value = OrdersConstraints.Create.class)
+      @JsonView(OrdersConstraints.Create.class)
+      OrderBatchDto orderBatchDto
+  ) {
+    return ResponseEntity.ok(orderService.createAll(orderBatchDto.orders()));
+  }
+
   @PutMapping("/{id}")
   @PreAuthorize("hasAuthority(T(com.innowise.auth.model.Role).MANAGER)")
   public ResponseEntity<OrderDto> update(
@@ -5,6 +5,7 @@ import com.innowise.common.exception.ResourceAlreadyExistsException;
 import com.innowise.common.exception.ResourceNotFoundException;
 import com.innowise.common.model.dto.ErrorDto;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.OffsetDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +67,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         .body(ErrorDto.internal(request.getRequestURI()));
   }
 
+  @ExceptionHandler(value = {InvalidCursorException.class})
+  public ResponseEntity<ErrorDto> handleInvalidCursorException(InvalidCursorException ex,
+      HttpServletRequest request) {
+    return ResponseEntity.badRequest()
+        .body(ErrorDto.builder()
+            .timestamp(OffsetDateTime.now())
+            .status(HttpStatus.BAD_REQUEST.value())
+            .title(HttpStatus.BAD_REQUEST.getReasonPhrase())
+            .instance(request.getRequestURI())
+            .field("cursor")
+            .fieldViolation(ex.getMessage())
+            .build());
+  }
+
   @ExceptionHandler(value = {AuthorizationDeniedException.class})
   public ResponseEntity<ErrorDto> handleAuthorizationDeniedException(
       AuthorizationDeniedException ex,
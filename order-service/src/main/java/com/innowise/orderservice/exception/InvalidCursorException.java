@@ -0,0 +1,14 @@
+package com.innowise.orderservice.exception;
+
+import java.io.Serial;
+
+public class InvalidCursorException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 5160381342297458573L;
+
+  public InvalidCursorException(String cursor) {
+    super("Cursor(" + cursor + ") is malformed");
+  }
+
+}
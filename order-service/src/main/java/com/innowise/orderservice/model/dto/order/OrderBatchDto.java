@@ -0,0 +1,35 @@
+package com.innowise.orderservice.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.innowise.orderservice.model.dto.OrdersConstraints;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record OrderBatchDto(
+
+    @JsonView({OrdersConstraints.Create.class})
+    @NotEmpty(
+        groups = {
+            OrdersConstraints.Create.class
+        },
+        message = "Orders must be provided"
+    )
+    @Size(
+        groups = {
+            OrdersConstraints.Create.class
+        },
+        max = OrderBatchDto.MAX_SIZE,
+        message = "No more than " + OrderBatchDto.MAX_SIZE + " orders can be created at once"
+    )
+    @Valid
+    List<OrderDto> orders
+
+) {
+
+  public static final int MAX_SIZE = 1000;
+
+}
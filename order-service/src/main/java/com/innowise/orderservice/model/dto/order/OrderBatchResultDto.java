@@ -0,0 +1,27 @@
+package com.innowise.orderservice.model.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of one order of an {@link OrderBatchDto}, {@code index} refers to its position in the
+ * request. Exactly one of {@code order} and {@code error} is set.
+ */
+@NullMarked
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderBatchResultDto(
+    int index,
+    @Nullable OrderDto order,
+    @Nullable String error
+) {
+
+  public static OrderBatchResultDto created(int index, OrderDto order) {
+    return new OrderBatchResultDto(index, order, null);
+  }
+
+  public static OrderBatchResultDto rejected(int index, String error) {
+    return new OrderBatchResultDto(index, null, error);
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.innowise.orderservice.model.dto.order;
+
+import com.innowise.orderservice.exception.InvalidCursorException;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderSummary;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Keyset position in the {@code (created_at DESC, id DESC)} ordering of orders, exchanged with
+ * clients as an opaque URL-safe string.
+ */
+@NullMarked
+public record OrderCursor(
+    LocalDateTime createdAt,
+    Long id
+) {
+
+  public static final Sort SORT = Sort.by(
+      Sort.Order.desc("createdAt"),
+      Sort.Order.desc("id")
+  );
+
+  private static final String SEPARATOR = "|";
+
+  public static OrderCursor of(Order order) {
+    return new OrderCursor(order.getCreatedAt(), order.getId());
+  }
+
+  public static OrderCursor of(OrderSummary orderSummary) {
+    return new OrderCursor(orderSummary.getCreatedAt(), orderSummary.getId());
+  }
+
+  public static OrderCursor decode(String cursor) {
+    try {
+      var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      var separatorIndex = decoded.lastIndexOf(SEPARATOR);
+      if (separatorIndex < 0) {
+        throw new InvalidCursorException(cursor);
+      }
+      return new OrderCursor(
+          LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+          Long.parseLong(decoded.substring(separatorIndex + 1))
+      );
+    } catch (IllegalArgumentException | DateTimeParseException _) {
+      throw new InvalidCursorException(cursor);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((createdAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Keyset predicate for any entity exposing {@code createdAt} and {@code id} attributes.
+   */
+  public <T> Specification<T> toSpecification() {
+    return (root, _, builder) -> builder.or(
+        builder.lessThan(root.<LocalDateTime>get("createdAt"), createdAt),
+        builder.and(
+            builder.equal(root.get("createdAt"), createdAt),
+            builder.lessThan(root.<Long>get("id"), id)
+        )
+    );
+  }
+
+}
@@ -0,0 +1,13 @@
+package com.innowise.orderservice.model.dto.order;
+
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+@NullMarked
+public record OrderPageDto(
+    List<OrderDto> content,
+    @Nullable String nextCursor
+) {
+
+}
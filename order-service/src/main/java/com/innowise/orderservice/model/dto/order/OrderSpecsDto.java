@@ -1,6 +1,7 @@
 package com.innowise.orderservice.model.dto.order;
 
 import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderSummary;
 import com.innowise.orderservice.model.enums.OrderStatus;
 import java.util.LinkedList;
 import java.util.List;
@@ -14,11 +15,25 @@ import org.springframework.data.jpa.domain.Specification;
 public record OrderSpecsDto(
     @Nullable List<Long> ids,
     @Nullable List<OrderStatus> statuses,
-    @Nullable Long userId
+    @Nullable Long userId,
+    @Nullable String cursor,
+    @Nullable Integer limit,
+    @Nullable Boolean fullDetails
 ) {
 
+  public static final int DEFAULT_LIMIT = 50;
+  public static final int MAX_LIMIT = 500;
+
   public Specification<Order> convertToSpecification() {
-    List<Specification<Order>> specifications = new LinkedList<>();
+    return toSpecification();
+  }
+
+  public Specification<OrderSummary> convertToSummarySpecification() {
+    return toSpecification();
+  }
+
+  private <T> Specification<T> toSpecification() {
+    List<Specification<T>> specifications = new LinkedList<>();
 
     if (ids != null) {
       specifications.add((root, _, _) -> root.get("id").in(ids));
@@ -32,7 +47,27 @@ public record OrderSpecsDto(
       specifications.add((root, _, builder) -> builder.equal(root.get("userId"), userId));
     }
 
+    if (cursor != null) {
+      specifications.add(OrderCursor.decode(cursor).<T>toSpecification());
+    }
+
     return Specification.allOf(specifications);
   }
 
+  public boolean isFullDetails() {
+    return Boolean.TRUE.equals(fullDetails);
+  }
+
+  /**
+   * Listings requested without {@code limit} and {@code cursor} are not paginated, as they were
+   * before keyset pagination was introduced.
+   */
+  public boolean isPaginated() {
+    return limit != null || cursor != null;
+  }
+
+  public int resolveLimit() {
+    return limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+  }
+
 }
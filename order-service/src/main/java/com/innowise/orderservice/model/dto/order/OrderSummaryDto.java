@@ -0,0 +1,19 @@
+package com.innowise.orderservice.model.dto.order;
+
+import com.innowise.orderservice.model.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+@Builder
+public record OrderSummaryDto(
+    Long id,
+    Long userId,
+    OrderStatus status,
+    Integer itemCount,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+
+}
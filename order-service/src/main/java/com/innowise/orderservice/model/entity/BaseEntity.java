@@ -21,8 +21,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 @SuperBuilder
 public abstract class BaseEntity implements Serializable {
 
+  /**
+   * Ids are taken from per-table sequences incremented by this size, so that Hibernate assigns a
+   * block of ids with a single sequence call and can batch the inserts.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE)
   @Column(name = "id", updatable = false, nullable = false)
   protected Long id;
 
@@ -2,6 +2,7 @@ package com.innowise.orderservice.model.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -21,6 +22,10 @@ import org.hibernate.proxy.HibernateProxy;
 @ToString
 @SuperBuilder
 @Table(name = "items")
+@SequenceGenerator(
+    sequenceName = "items_id_seq",
+    allocationSize = BaseEntity.ID_ALLOCATION_SIZE
+)
 @Entity
 public class Item extends BaseEntity {
 
@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,8 +21,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import org.hibernate.annotations.Fetch;
-import org.hibernate.annotations.FetchMode;
 import org.hibernate.proxy.HibernateProxy;
 
 @AllArgsConstructor
@@ -31,6 +30,10 @@ import org.hibernate.proxy.HibernateProxy;
 @ToString(exclude = {"orderItems"})
 @SuperBuilder
 @Table(name = "orders")
+@SequenceGenerator(
+    sequenceName = "orders_id_seq",
+    allocationSize = BaseEntity.ID_ALLOCATION_SIZE
+)
 @Entity
 public class Order extends BaseEntity {
 
@@ -45,10 +48,9 @@ public class Order extends BaseEntity {
   @OneToMany(
       cascade = CascadeType.ALL,
       orphanRemoval = true,
-      fetch = FetchType.EAGER
+      fetch = FetchType.LAZY
   )
   @JoinColumn(name = "order_id")
-  @Fetch(FetchMode.JOIN)
   private List<OrderItem> orderItems = new ArrayList<>();
 
   public void addItem(OrderItem item) {
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.Objects;
 import lombok.AllArgsConstructor;
@@ -21,6 +22,10 @@ import org.hibernate.proxy.HibernateProxy;
 @Setter
 @ToString(exclude = {"order", "item"})
 @Table(name = "order_items")
+@SequenceGenerator(
+    sequenceName = "order_items_id_seq",
+    allocationSize = BaseEntity.ID_ALLOCATION_SIZE
+)
 @Entity
 public class OrderItem extends BaseEntity {
 
@@ -0,0 +1,85 @@
+package com.innowise.orderservice.model.entity;
+
+import com.innowise.orderservice.model.enums.OrderStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.proxy.HibernateProxy;
+
+/**
+ * Denormalized read model of an {@link Order} with its item count and total amount. Rows are
+ * maintained by {@code OrderSummaryService} in the transaction that changes the order.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Builder
+@Table(name = "order_summary")
+@Entity
+public class OrderSummary {
+
+  @Id
+  @Column(name = "order_id", updatable = false, nullable = false)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "status", nullable = false)
+  @Enumerated(EnumType.STRING)
+  private OrderStatus status;
+
+  @Column(name = "item_count", nullable = false)
+  private Integer itemCount;
+
+  @Column(name = "total_amount", nullable = false)
+  private BigDecimal totalAmount;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null) {
+      return false;
+    }
+    Class<?> oEffectiveClass =
+        o instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer()
+            .getPersistentClass() : o.getClass();
+    Class<?> thisEffectiveClass =
+        this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer()
+            .getPersistentClass() : this.getClass();
+    if (thisEffectiveClass != oEffectiveClass) {
+      return false;
+    }
+    OrderSummary orderSummary = (OrderSummary) o;
+    return getId() != null && Objects.equals(getId(), orderSummary.getId());
+  }
+
+  @Override
+  public final int hashCode() {
+    return this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer()
+        .getPersistentClass().hashCode() : getClass().hashCode();
+  }
+
+}
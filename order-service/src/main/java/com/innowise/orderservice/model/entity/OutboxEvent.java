@@ -0,0 +1,80 @@
+package com.innowise.orderservice.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.proxy.HibernateProxy;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString(exclude = {"payload"})
+@SuperBuilder
+@Table(name = "outbox_events")
+@SequenceGenerator(
+    sequenceName = "outbox_events_id_seq",
+    allocationSize = BaseEntity.ID_ALLOCATION_SIZE
+)
+@Entity
+public class OutboxEvent extends BaseEntity {
+
+  @Column(name = "topic", nullable = false)
+  private String topic;
+
+  @Column(name = "event_key", nullable = false)
+  private String key;
+
+  @Column(name = "event_type", nullable = false)
+  private String type;
+
+  @Column(name = "payload", nullable = false)
+  private String payload;
+
+  /**
+   * Set once the event could not be read back, such events are kept for inspection and no longer
+   * relayed.
+   */
+  @Column(name = "failed_at")
+  private LocalDateTime failedAt;
+
+  @Column(name = "failure")
+  private String failure;
+
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null) {
+      return false;
+    }
+    Class<?> oEffectiveClass =
+        o instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer()
+            .getPersistentClass() : o.getClass();
+    Class<?> thisEffectiveClass =
+        this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer()
+            .getPersistentClass() : this.getClass();
+    if (thisEffectiveClass != oEffectiveClass) {
+      return false;
+    }
+    OutboxEvent outboxEvent = (OutboxEvent) o;
+    return getId() != null && Objects.equals(getId(), outboxEvent.getId());
+  }
+
+  @Override
+  public final int hashCode() {
+    return this instanceof HibernateProxy proxy ? proxy.getHibernateLazyInitializer()
+        .getPersistentClass().hashCode() : getClass().hashCode();
+  }
+
+}
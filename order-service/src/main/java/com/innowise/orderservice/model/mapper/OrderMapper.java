@@ -2,7 +2,9 @@ package com.innowise.orderservice.model.mapper;
 
 import com.innowise.common.model.dto.user.UserDto;
 import com.innowise.orderservice.model.dto.order.OrderDto;
+import com.innowise.orderservice.model.dto.order.OrderSummaryDto;
 import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderSummary;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
@@ -25,6 +27,8 @@ public interface OrderMapper {
   @Mapping(target = "user", expression = "java(userDto)")
   OrderDto toFullDto(Order order, @Context UserDto userDto);
 
+  OrderSummaryDto toSummaryDto(OrderSummary orderSummary);
+
   @Mapping(target = "userId", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
@@ -1,17 +1,41 @@
 package com.innowise.orderservice.repository;
 
 import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 @NullMarked
 public interface OrderRepository extends JpaRepository<Order, Long>,
     JpaSpecificationExecutor<Order> {
 
+  @EntityGraph(attributePaths = {"orderItems", "orderItems.item"})
+  Optional<Order> findWithItemsById(Long id);
 
+  @EntityGraph(attributePaths = {"orderItems", "orderItems.item"})
+  List<Order> findAllWithItemsByIdIn(Collection<Long> ids);
+
+  @Modifying
+  @Query("""
+      UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt
+      WHERE o.id IN :ids AND o.status <> :status
+      """)
+  int updateStatusByIdIn(OrderStatus status, LocalDateTime updatedAt, Collection<Long> ids);
+
+  @Query(nativeQuery = true,
+      value = "SELECT o.id FROM orders o WHERE o.id > :afterId ORDER BY o.id LIMIT :limit")
+  List<Long> findIdsAfter(long afterId, int limit);
+
+  @Query("SELECT o.id FROM Order o WHERE o.id IN :ids")
+  List<Long> findIdsByIdIn(Collection<Long> ids);
 
   @Query("SELECT o.userId FROM Order o WHERE o.id = :id")
   Optional<Long> findUserIdById(Long id);
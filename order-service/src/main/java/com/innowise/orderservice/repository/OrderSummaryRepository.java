@@ -0,0 +1,62 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.OrderSummary;
+import com.innowise.orderservice.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+@NullMarked
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long>,
+    JpaSpecificationExecutor<OrderSummary> {
+
+  String UPSERT_FROM_ORDERS = """
+      INSERT INTO order_summary
+        (order_id, user_id, status, item_count, total_amount, created_at, updated_at)
+      SELECT o.id, o.user_id, o.status, COALESCE(SUM(oi.quantity), 0),
+        COALESCE(SUM(oi.quantity * i.price), 0), o.created_at, o.updated_at
+      FROM orders o
+      LEFT JOIN order_items oi ON oi.order_id = o.id
+      LEFT JOIN items i ON i.id = oi.item_id
+      """;
+
+  String GROUP_AND_MERGE = """
+      GROUP BY o.id
+      ON CONFLICT (order_id) DO UPDATE SET
+        user_id = EXCLUDED.user_id,
+        status = EXCLUDED.status,
+        item_count = EXCLUDED.item_count,
+        total_amount = EXCLUDED.total_amount,
+        created_at = EXCLUDED.created_at,
+        updated_at = EXCLUDED.updated_at
+      """;
+
+  @Modifying
+  @Query(nativeQuery = true,
+      value = UPSERT_FROM_ORDERS + "WHERE o.id IN :orderIds\n" + GROUP_AND_MERGE)
+  int refreshByOrderIdIn(Collection<Long> orderIds);
+
+  @Modifying
+  @Query(nativeQuery = true,
+      value = UPSERT_FROM_ORDERS + "WHERE o.id > :afterId AND o.id <= :lastId\n" + GROUP_AND_MERGE)
+  int refreshByOrderIdBetween(long afterId, long lastId);
+
+  @Modifying
+  @Query(nativeQuery = true,
+      value = UPSERT_FROM_ORDERS
+          + "WHERE o.id IN (SELECT order_id FROM order_items WHERE item_id = :itemId)\n"
+          + GROUP_AND_MERGE)
+  int refreshByItemId(long itemId);
+
+  @Modifying
+  @Query("""
+      UPDATE OrderSummary s SET s.status = :status, s.updatedAt = :updatedAt
+      WHERE s.id IN :ids AND s.status <> :status
+      """)
+  int updateStatusByIdIn(OrderStatus status, LocalDateTime updatedAt, Collection<Long> ids);
+
+}
@@ -0,0 +1,21 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+@NullMarked
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /**
+   * Locks the oldest pending events. Concurrent relays block on the same rows instead of skipping
+   * them, which keeps events of one key in insertion order across instances.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<OutboxEvent> findAllByFailedAtIsNullOrderByIdAsc(Limit limit);
+
+}
@@ -0,0 +1,25 @@
+package com.innowise.orderservice.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Lets managers list any orders and users only their own. The annotated method must take the
+ * listing criteria as an {@code OrderSpecsDto orderSpecsDto} parameter.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@PreAuthorize("""
+      hasAuthority(T(com.innowise.auth.model.Role).MANAGER) ||\s
+      (#orderSpecsDto != null && #orderSpecsDto.userId() != null &&\s
+        (authentication.principal.id == #orderSpecsDto.userId()\s
+          || hasAuthority(T(com.innowise.auth.model.Role).MANAGER)
+        )
+      )
+    \s""")
+public @interface PreAuthorizeOrderListing {
+
+}
@@ -1,9 +1,18 @@
 package com.innowise.orderservice.service;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface EventService {
 
   boolean isEventProcessed(String consumerGroupId, String eventId);
 
   void saveProcessedEvent(String consumerGroupId, String eventId);
 
+  Set<String> findProcessedEvents(String consumerGroupId, Collection<String> eventIds);
+
+  void saveProcessedEvents(String consumerGroupId, Collection<String> eventIds);
+
+  void resetFilters(String consumerGroupId);
+
 }
@@ -1,25 +1,39 @@
 package com.innowise.orderservice.service;
 
-import com.innowise.common.model.dto.payment.PaymentDto;
-import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.orderservice.model.dto.order.OrderBatchResultDto;
 import com.innowise.orderservice.model.dto.order.OrderDto;
+import com.innowise.orderservice.model.dto.order.OrderPageDto;
 import com.innowise.orderservice.model.dto.order.OrderSpecsDto;
+import com.innowise.orderservice.model.dto.order.OrderSummaryPageDto;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
   OrderDto findById(Long id);
 
-  List<OrderDto> findAll(OrderSpecsDto orderSpecsDto);
+  OrderPageDto findAll(OrderSpecsDto orderSpecsDto);
+
+  OrderSummaryPageDto findAllSummaries(OrderSpecsDto orderSpecsDto);
+
+  void streamAll(OrderSpecsDto orderSpecsDto, Consumer<OrderDto> consumer);
 
   OrderDto create(OrderDto orderDto);
 
+  List<OrderBatchResultDto> createAll(List<OrderDto> orderDtos);
+
   OrderDto update(Long id, OrderDto orderDto);
 
   void delete(Long id);
 
-  void processPaymentCreation(PaymentDto payment);
-
-  void processPaymentUpdate(Long orderId, PaymentStatus newStatus);
+  /**
+   * Applies payment events to the statuses of their orders.
+   *
+   * @return events by the ids of the orders they refer to which do not exist, they are not
+   *     applied
+   */
+  Map<Long, List<BaseEvent>> processPaymentEvents(List<BaseEvent> events);
 
 }
@@ -0,0 +1,30 @@
+package com.innowise.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repopulates the {@code order_summary} read table from the base tables on startup. Enabled with
+ * {@code order-summary.rebuild.enabled=true}, e.g. after a manual data fix.
+ */
+@Component
+@NullMarked
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order-summary.rebuild.enabled", havingValue = "true")
+public class OrderSummaryRebuildRunner implements CommandLineRunner {
+
+  private final OrderSummaryService orderSummaryService;
+
+  @Value("${order-summary.rebuild.batch-size}")
+  private int batchSize;
+
+  @Override
+  public void run(String... args) {
+    orderSummaryService.rebuild(batchSize);
+  }
+
+}
@@ -0,0 +1,32 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.orderservice.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Maintains the {@code order_summary} read model. Refreshes and status updates must run in the
+ * transaction that changes the orders, after their changes are flushed.
+ */
+public interface OrderSummaryService {
+
+  /**
+   * Recomputes the summaries of the given orders from the base tables.
+   */
+  void refresh(Collection<Long> orderIds);
+
+  /**
+   * Recomputes the summaries of the orders containing the item, whose totals depend on its price.
+   */
+  void refreshByItem(Long itemId);
+
+  void updateStatus(OrderStatus status, LocalDateTime updatedAt, Collection<Long> orderIds);
+
+  /**
+   * Repopulates all summaries from the base tables, one transaction per batch of orders.
+   *
+   * @return number of refreshed summaries
+   */
+  long rebuild(int batchSize);
+
+}
@@ -0,0 +1,12 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.common.model.event.BaseEvent;
+import java.util.Map;
+
+public interface OutboxService {
+
+  void save(String topic, String key, BaseEvent event);
+
+  void saveAll(String topic, Map<String, ? extends BaseEvent> eventsByKey);
+
+}
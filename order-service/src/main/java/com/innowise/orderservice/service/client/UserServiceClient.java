@@ -2,10 +2,13 @@ package com.innowise.orderservice.service.client;
 
 import com.innowise.auth.model.AuthConstants;
 import com.innowise.common.model.dto.user.UserDto;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(
     name = "user-service",
@@ -19,4 +22,10 @@ public interface UserServiceClient {
       @RequestHeader(AuthConstants.AUTH_HEADER) String authorization
   );
 
+  @GetMapping("/api/v1/users")
+  List<UserDto> findAllByIds(
+      @RequestParam("ids") Collection<Long> ids,
+      @RequestHeader(AuthConstants.AUTH_HEADER) String authorization
+  );
+
 }
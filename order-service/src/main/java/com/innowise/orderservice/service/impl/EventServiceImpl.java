@@ -2,6 +2,8 @@ package com.innowise.orderservice.service.impl;
 
 import com.innowise.orderservice.repository.EventRepository;
 import com.innowise.orderservice.service.EventService;
+import java.util.Collection;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,4 +24,25 @@ public class EventServiceImpl implements EventService {
   public void saveProcessedEvent(String consumerGroupId, String eventId) {
     eventRepository.saveProcessedEvent(consumerGroupId, eventId);
   }
+
+  @Override
+  public Set<String> findProcessedEvents(String consumerGroupId, Collection<String> eventIds) {
+    if (eventIds.isEmpty()) {
+      return Set.of();
+    }
+    return eventRepository.findProcessedEvents(consumerGroupId, eventIds);
+  }
+
+  @Override
+  public void saveProcessedEvents(String consumerGroupId, Collection<String> eventIds) {
+    if (!eventIds.isEmpty()) {
+      eventRepository.saveProcessedEvents(consumerGroupId, eventIds);
+    }
+  }
+
+  @Override
+  public void resetFilters(String consumerGroupId) {
+    eventRepository.resetFilters(consumerGroupId);
+  }
+
 }
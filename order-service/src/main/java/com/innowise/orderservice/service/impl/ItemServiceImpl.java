@@ -1,11 +1,14 @@
 package com.innowise.orderservice.service.impl;
 
 import com.innowise.common.exception.ResourceNotFoundException;
+import com.innowise.orderservice.cache.ItemCatalog;
 import com.innowise.orderservice.model.dto.item.ItemDto;
 import com.innowise.orderservice.model.mapper.ItemMapper;
 import com.innowise.orderservice.repository.ItemRepository;
 import com.innowise.orderservice.service.ItemService;
+import com.innowise.orderservice.service.OrderSummaryService;
 import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +19,8 @@ public class ItemServiceImpl implements ItemService {
 
   private final ItemRepository itemRepository;
   private final ItemMapper itemMapper;
+  private final ItemCatalog itemCatalog;
+  private final OrderSummaryService orderSummaryService;
 
   @Override
   public ItemDto findById(Long id) {
@@ -41,7 +46,9 @@ public class ItemServiceImpl implements ItemService {
   @Override
   @Transactional
   public ItemDto create(ItemDto itemDto) {
-    return itemMapper.toDto(itemRepository.save(itemMapper.toEntity(itemDto)));
+    var savedItem = itemRepository.save(itemMapper.toEntity(itemDto));
+    itemCatalog.onItemsChanged();
+    return itemMapper.toDto(savedItem);
   }
 
   @Override
@@ -49,14 +56,21 @@ public class ItemServiceImpl implements ItemService {
   public ItemDto update(Long id, ItemDto itemDto) {
     var item = itemRepository.findById(id)
         .orElseThrow(() -> ResourceNotFoundException.byId("Item", id));
+    var priceChanged = !Objects.equals(item.getPrice(), itemDto.price());
     item.setName(itemDto.name());
     item.setPrice(itemDto.price());
-    return itemMapper.toDto(itemRepository.save(item));
+    var savedItem = itemRepository.saveAndFlush(item);
+    if (priceChanged) {
+      orderSummaryService.refreshByItem(id);
+    }
+    itemCatalog.onItemsChanged();
+    return itemMapper.toDto(savedItem);
   }
 
   @Override
   @Transactional
   public void delete(Long id) {
     itemRepository.deleteById(id);
+    itemCatalog.onItemsChanged();
   }
 }
@@ -3,26 +3,49 @@ package com.innowise.orderservice.service.impl;
 import com.innowise.auth.model.AuthConstants;
 import com.innowise.auth.security.provider.AuthTokenProvider;
 import com.innowise.common.exception.ResourceNotFoundException;
-import com.innowise.common.model.dto.payment.PaymentDto;
+import com.innowise.common.model.dto.user.UserDto;
 import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.common.model.event.PaymentCreatedEvent;
+import com.innowise.common.model.event.PaymentStatusUpdatedEvent;
+import com.innowise.orderservice.cache.UserCache;
 import com.innowise.orderservice.controller.kafka.producer.OrderProducer;
+import com.innowise.orderservice.model.dto.order.OrderBatchResultDto;
+import com.innowise.orderservice.model.dto.order.OrderCursor;
 import com.innowise.orderservice.model.dto.order.OrderDto;
+import com.innowise.orderservice.model.dto.order.OrderPageDto;
 import com.innowise.orderservice.model.dto.order.OrderSpecsDto;
+import com.innowise.orderservice.model.dto.order.OrderSummaryPageDto;
+import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.enums.OrderStatus;
 import com.innowise.orderservice.model.mapper.OrderMapper;
 import com.innowise.orderservice.repository.ItemRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.repository.OrderSummaryRepository;
+import com.innowise.orderservice.security.PreAuthorizeOrderListing;
 import com.innowise.orderservice.service.OrderService;
-import com.innowise.orderservice.service.client.UserServiceClient;
+import com.innowise.orderservice.service.OrderSummaryService;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @NullMarked
@@ -30,12 +53,19 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+  private static final int STREAM_CHUNK_SIZE = 100;
+
   private final OrderRepository orderRepository;
   private final ItemRepository itemRepository;
   private final OrderMapper orderMapper;
-  private final UserServiceClient userServiceClient;
+  private final UserCache userCache;
   private final AuthTokenProvider authTokenProvider;
   private final OrderProducer orderProducer;
+  private final OrderSummaryService orderSummaryService;
+  private final OrderSummaryRepository orderSummaryRepository;
+  private final EntityManager entityManager;
+  private final ExecutorService virtualThreadExecutor;
+  private final TransactionTemplate transactionTemplate;
 
   @Override
   @PreAuthorize("""
@@ -43,77 +73,211 @@ public class OrderServiceImpl implements OrderService {
           authentication.principal.id == @orderServiceImpl.findOrderUserId(#id)
       """)
   public OrderDto findById(Long id) {
-    var order = orderRepository.findById(id)
+    var order = orderRepository.findWithItemsById(id)
         .orElseThrow(() -> generateNotFoundException(id));
     return orderMapper.toDto(order,
-        userServiceClient.findById(order.getUserId(),
+        userCache.findById(order.getUserId(),
             AuthConstants.AUTH_SCHEME + authTokenProvider.get().getJwtToken())
     );
   }
 
   @Override
-  @PreAuthorize("""
-        hasAuthority(T(com.innowise.auth.model.Role).MANAGER) ||\s
-        (#orderSpecsDto != null && #orderSpecsDto.userId() != null &&\s
-          (authentication.principal.id == #orderSpecsDto.userId()\s
-            || hasAuthority(T(com.innowise.auth.model.Role).MANAGER)
-          )
-        )
-      \s""")
-  public List<OrderDto> findAll(OrderSpecsDto orderSpecsDto) {
-    Specification<Order> specification = orderSpecsDto.convertToSpecification();
-    return orderRepository.findAll(specification).stream()
-        .map(order -> orderMapper.toDto(order,
-            userServiceClient.findById(order.getUserId(),
-                AuthConstants.AUTH_SCHEME + authTokenProvider.get().getJwtToken())))
-        .toList();
+  @PreAuthorizeOrderListing
+  public OrderPageDto findAll(OrderSpecsDto orderSpecsDto) {
+    if (!orderSpecsDto.isPaginated()) {
+      var orders = orderRepository.findBy(orderSpecsDto.convertToSpecification(),
+          query -> query.sortBy(OrderCursor.SORT).all());
+      return new OrderPageDto(toDtos(orders, orderSpecsDto.isFullDetails()), null);
+    }
+    var limit = orderSpecsDto.resolveLimit();
+    var orders = orderRepository.findBy(orderSpecsDto.convertToSpecification(),
+        query -> query.sortBy(OrderCursor.SORT).limit(limit + 1).all());
+    var hasNext = orders.size() > limit;
+    var pageOrders = hasNext ? orders.subList(0, limit) : orders;
+    return new OrderPageDto(
+        toDtos(pageOrders, orderSpecsDto.isFullDetails()),
+        hasNext ? OrderCursor.of(pageOrders.getLast()).encode() : null
+    );
   }
 
   @Override
-  @Transactional
-  public void processPaymentCreation(PaymentDto payment) {
-    var orderEntity = orderRepository.findById(payment.orderId())
-        .orElseThrow(() -> generateNotFoundException(payment.orderId()));
-
-    log.info("Received payment creation for Order (id={}), change status to PROCESSING",
-        payment.orderId());
-    orderEntity.setStatus(OrderStatus.PROCESSING);
+  @PreAuthorizeOrderListing
+  public OrderSummaryPageDto findAllSummaries(OrderSpecsDto orderSpecsDto) {
+    var limit = orderSpecsDto.resolveLimit();
+    var summaries = orderSummaryRepository.findBy(
+        orderSpecsDto.convertToSummarySpecification(),
+        query -> query.sortBy(OrderCursor.SORT).limit(limit + 1).all());
+    var hasNext = summaries.size() > limit;
+    var pageSummaries = hasNext ? summaries.subList(0, limit) : summaries;
+    return new OrderSummaryPageDto(
+        pageSummaries.stream().map(orderMapper::toSummaryDto).toList(),
+        hasNext ? OrderCursor.of(pageSummaries.getLast()).encode() : null
+    );
+  }
 
-    orderRepository.save(orderEntity);
+  @Override
+  @PreAuthorizeOrderListing
+  public void streamAll(OrderSpecsDto orderSpecsDto, Consumer<OrderDto> consumer) {
+    var specification = orderSpecsDto.convertToSpecification();
+    OrderCursor after = null;
+    List<Order> chunk;
+    do {
+      chunk = orderRepository.findBy(
+          after == null ? specification : specification.and(after.<Order>toSpecification()),
+          query -> query.sortBy(OrderCursor.SORT).limit(STREAM_CHUNK_SIZE).all());
+      if (chunk.isEmpty()) {
+        return;
+      }
+      var orderDtos = toDtos(chunk, orderSpecsDto.isFullDetails());
+      after = OrderCursor.of(chunk.getLast());
+      // an open session in view keeps the persistence context for the whole download
+      entityManager.clear();
+      orderDtos.forEach(consumer);
+    } while (chunk.size() == STREAM_CHUNK_SIZE);
   }
 
   @Override
   @Transactional
-  public void processPaymentUpdate(Long orderId, PaymentStatus newStatus) {
-    var orderEntity = orderRepository.findById(orderId)
-        .orElseThrow(() -> generateNotFoundException(orderId));
-
-    if (newStatus == PaymentStatus.SUCCEEDED) {
-      log.info("Order (id={}) payment has succeeded", orderId);
-      orderEntity.setStatus(OrderStatus.DELIVERING);
-    } else if (newStatus == PaymentStatus.FAILED) {
-      log.info("Order (id={}) payment has failed", orderId);
-    }
+  public Map<Long, List<BaseEvent>> processPaymentEvents(List<BaseEvent> events) {
+    var eventsByOrderId = new LinkedHashMap<Long, List<BaseEvent>>();
+    var targetStatuses = new LinkedHashMap<Long, OrderStatus>();
+    events.forEach(event -> {
+      switch (event) {
+        case PaymentCreatedEvent created -> {
+          log.info("Received payment creation for Order (id={}), change status to PROCESSING",
+              created.getPayment().orderId());
+          targetStatuses.put(created.getPayment().orderId(), OrderStatus.PROCESSING);
+          addOrderEvent(eventsByOrderId, created.getPayment().orderId(), created);
+        }
+        case PaymentStatusUpdatedEvent updated
+            when updated.getNewStatus() == PaymentStatus.SUCCEEDED -> {
+          log.info("Order (id={}) payment has succeeded", updated.getOrderId());
+          targetStatuses.put(updated.getOrderId(), OrderStatus.DELIVERING);
+          addOrderEvent(eventsByOrderId, updated.getOrderId(), updated);
+        }
+        case PaymentStatusUpdatedEvent updated
+            when updated.getNewStatus() == PaymentStatus.FAILED -> {
+          log.info("Order (id={}) payment has failed", updated.getOrderId());
+          addOrderEvent(eventsByOrderId, updated.getOrderId(), updated);
+        }
+        default -> log.debug("Skip {} (id={}), it does not change order status",
+            event.getClass().getSimpleName(), event.getEventId());
+      }
+    });
+
+    var updatedAt = LocalDateTime.now();
+    var updatedTotal = targetStatuses.entrySet().stream()
+        .collect(Collectors.groupingBy(Map.Entry::getValue,
+            Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+        .entrySet().stream()
+        .mapToInt(entry -> {
+          var updated = orderRepository.updateStatusByIdIn(entry.getKey(), updatedAt,
+              entry.getValue());
+          orderSummaryService.updateStatus(entry.getKey(), updatedAt, entry.getValue());
+          log.info("{} of {} Orders changed status to {}", updated, entry.getValue().size(),
+              entry.getKey());
+          return updated;
+        })
+        .sum();
 
-    orderRepository.save(orderEntity);
+    // orders already in their target status are not counted either, only a shortfall is looked up
+    if (updatedTotal == eventsByOrderId.size()) {
+      return Map.of();
+    }
+    orderRepository.findIdsByIdIn(eventsByOrderId.keySet()).forEach(eventsByOrderId::remove);
+    eventsByOrderId.keySet().forEach(orderId ->
+        log.warn("Payment events refer to Order (id={}) which does not exist", orderId));
+    return eventsByOrderId;
   }
 
   @Override
-  @Transactional
   public OrderDto create(OrderDto orderDto) {
+    var authToken = authTokenProvider.get();
+    var userId = authToken.getPrincipal().userId();
+    var authorization = AuthConstants.AUTH_SCHEME + authToken.getJwtToken();
+    var userFuture = virtualThreadExecutor.submit(
+        () -> userCache.findById(userId, authorization));
+
     var orderEntity = orderMapper.toEntity(orderDto);
+    try {
+      var itemIds = orderEntity.getOrderItems().stream()
+          .map(orderItem -> orderItem.getItem().getId())
+          .collect(Collectors.toSet());
+      var foundItemIds = itemRepository.findAllById(itemIds).stream()
+          .map(Item::getId)
+          .collect(Collectors.toSet());
+      itemIds.stream()
+          .filter(itemId -> !foundItemIds.contains(itemId))
+          .findFirst()
+          .ifPresent(itemId -> {
+            throw ResourceNotFoundException.byId("Item", itemId);
+          });
+    } catch (RuntimeException e) {
+      // the user is not needed anymore, interrupting the virtual thread aborts its request
+      userFuture.cancel(true);
+      throw e;
+    }
+    orderEntity.setStatus(OrderStatus.NEW);
+    orderEntity.setUserId(userId);
 
-    orderEntity.getOrderItems().forEach(orderItem ->
-        orderItem.setItem(itemRepository.getReferenceById(orderItem.getItem().getId())));
+    var user = awaitUser(userFuture);
+    return Objects.requireNonNull(transactionTemplate.execute(_ -> {
+      orderEntity.getOrderItems().forEach(orderItem ->
+          orderItem.setItem(itemRepository.getReferenceById(orderItem.getItem().getId())));
+      var savedOrderDto = orderMapper.toDto(orderRepository.saveAndFlush(orderEntity), user);
+      orderSummaryService.refresh(List.of(savedOrderDto.id()));
+      orderProducer.sendOrderCreated(savedOrderDto);
+      return savedOrderDto;
+    }));
+  }
+
+  @Override
+  @Transactional
+  public List<OrderBatchResultDto> createAll(List<OrderDto> orderDtos) {
+    var items = itemRepository.findAllById(orderDtos.stream()
+            .flatMap(orderDto -> orderDto.orderItems().stream())
+            .map(orderItemDto -> orderItemDto.item().id())
+            .collect(Collectors.toSet())
+        ).stream()
+        .collect(Collectors.toMap(Item::getId, Function.identity()));
 
     var userId = authTokenProvider.get().getPrincipal().userId();
-    var user = userServiceClient.findById(userId,
+    var user = userCache.findById(userId,
         AuthConstants.AUTH_SCHEME + authTokenProvider.get().getJwtToken());
-    orderEntity.setStatus(OrderStatus.NEW);
-    orderEntity.setUserId(userId);
-    var savedOrderDto = orderMapper.toDto(orderRepository.save(orderEntity), user);
-    orderProducer.sendOrderCreated(savedOrderDto);
-    return savedOrderDto;
+
+    var results = new OrderBatchResultDto[orderDtos.size()];
+    var orders = new ArrayList<Order>(orderDtos.size());
+    var orderIndexes = new ArrayList<Integer>(orderDtos.size());
+    for (int i = 0; i < orderDtos.size(); i++) {
+      var missingItemIds = orderDtos.get(i).orderItems().stream()
+          .map(orderItemDto -> orderItemDto.item().id())
+          .filter(itemId -> !items.containsKey(itemId))
+          .distinct()
+          .toList();
+      if (!missingItemIds.isEmpty()) {
+        results[i] = OrderBatchResultDto.rejected(i, "Items not found: " + missingItemIds);
+        continue;
+      }
+      var orderEntity = orderMapper.toEntity(orderDtos.get(i));
+      orderEntity.getOrderItems().forEach(orderItem ->
+          orderItem.setItem(items.get(orderItem.getItem().getId())));
+      orderEntity.setStatus(OrderStatus.NEW);
+      orderEntity.setUserId(userId);
+      orders.add(orderEntity);
+      orderIndexes.add(i);
+    }
+
+    var createdOrderDtos = orderRepository.saveAllAndFlush(orders).stream()
+        .map(order -> orderMapper.toDto(order, user))
+        .toList();
+    orderSummaryService.refresh(createdOrderDtos.stream().map(OrderDto::id).toList());
+    orderProducer.sendOrdersCreated(createdOrderDtos);
+    for (int i = 0; i < createdOrderDtos.size(); i++) {
+      results[orderIndexes.get(i)] = OrderBatchResultDto.created(orderIndexes.get(i),
+          createdOrderDtos.get(i));
+    }
+    log.info("{} of {} Orders created in batch", createdOrderDtos.size(), orderDtos.size());
+    return List.of(results);
   }
 
   @Override
@@ -122,9 +286,11 @@ public class OrderServiceImpl implements OrderService {
     var order = orderRepository.findById(id)
         .orElseThrow(() -> generateNotFoundException(id));
     order.setStatus(OrderStatus.valueOf(orderDto.status().name()));
+    var savedOrder = orderRepository.saveAndFlush(order);
+    orderSummaryService.refresh(List.of(id));
     return orderMapper.toDto(
-        orderRepository.save(order),
-        userServiceClient.findById(order.getUserId(),
+        savedOrder,
+        userCache.findById(order.getUserId(),
             AuthConstants.AUTH_SCHEME + authTokenProvider.get().getJwtToken()));
   }
 
@@ -140,6 +306,49 @@ public class OrderServiceImpl implements OrderService {
         .orElseThrow(() -> generateNotFoundException(id));
   }
 
+  private List<OrderDto> toDtos(List<Order> orders, boolean fullDetails) {
+    if (orders.isEmpty()) {
+      return List.of();
+    }
+    var ordersWithItems = orderRepository.findAllWithItemsByIdIn(
+            orders.stream()
+                .map(Order::getId)
+                .toList()
+        ).stream()
+        .collect(Collectors.toMap(Order::getId, Function.identity()));
+    var users = userCache.findAllByIds(
+        orders.stream()
+            .map(Order::getUserId)
+            .collect(Collectors.toSet()),
+        AuthConstants.AUTH_SCHEME + authTokenProvider.get().getJwtToken());
+    return orders.stream()
+        .map(order -> ordersWithItems.get(order.getId()))
+        .map(order -> fullDetails
+            ? orderMapper.toFullDto(order, users.get(order.getUserId()))
+            : orderMapper.toDto(order, users.get(order.getUserId())))
+        .toList();
+  }
+
+  private void addOrderEvent(Map<Long, List<BaseEvent>> eventsByOrderId, Long orderId,
+      BaseEvent event) {
+    eventsByOrderId.computeIfAbsent(orderId, _ -> new ArrayList<>()).add(event);
+  }
+
+  private UserDto awaitUser(Future<UserDto> userFuture) {
+    try {
+      return userFuture.get();
+    } catch (InterruptedException e) {
+      userFuture.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while fetching the user", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Failed to fetch the user", e.getCause());
+    }
+  }
+
   private ResourceNotFoundException generateNotFoundException(Long id) {
     return ResourceNotFoundException.byId("Order", id);
   }
@@ -0,0 +1,79 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.model.enums.OrderStatus;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.repository.OrderSummaryRepository;
+import com.innowise.orderservice.service.OrderSummaryService;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@NullMarked
+@RequiredArgsConstructor
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+
+  private final OrderSummaryRepository orderSummaryRepository;
+  private final OrderRepository orderRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void refresh(Collection<Long> orderIds) {
+    if (!orderIds.isEmpty()) {
+      orderSummaryRepository.refreshByOrderIdIn(orderIds);
+    }
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void refreshByItem(Long itemId) {
+    var refreshed = orderSummaryRepository.refreshByItemId(itemId);
+    log.debug("Refreshed {} order summaries containing Item (id={})", refreshed, itemId);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void updateStatus(OrderStatus status, LocalDateTime updatedAt,
+      Collection<Long> orderIds) {
+    if (!orderIds.isEmpty()) {
+      orderSummaryRepository.updateStatusByIdIn(status, updatedAt, orderIds);
+    }
+  }
+
+  @Override
+  public long rebuild(int batchSize) {
+    var transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    var afterId = 0L;
+    var refreshed = 0L;
+    while (true) {
+      var fromId = afterId;
+      var orderIds = transactionTemplate.execute(_ -> {
+        var ids = orderRepository.findIdsAfter(fromId, batchSize);
+        if (!ids.isEmpty()) {
+          orderSummaryRepository.refreshByOrderIdBetween(fromId, ids.getLast());
+        }
+        return ids;
+      });
+      if (orderIds == null || orderIds.isEmpty()) {
+        break;
+      }
+      refreshed += orderIds.size();
+      afterId = orderIds.getLast();
+      log.debug("Rebuilt order summaries up to Order (id={})", afterId);
+    }
+    log.info("Rebuilt {} order summaries", refreshed);
+    return refreshed;
+  }
+
+}
@@ -0,0 +1,52 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.common.model.event.BaseEvent;
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import com.innowise.orderservice.service.OutboxService;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+@Slf4j
+@Service
+@NullMarked
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final JsonMapper jsonMapper;
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void save(String topic, String key, BaseEvent event) {
+    outboxEventRepository.save(toOutboxEvent(topic, key, event));
+    log.debug("{} (id={}) stored in outbox for topic: {}", event.getClass().getSimpleName(),
+        event.getEventId(), topic);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void saveAll(String topic, Map<String, ? extends BaseEvent> eventsByKey) {
+    outboxEventRepository.saveAll(eventsByKey.entrySet().stream()
+        .map(entry -> toOutboxEvent(topic, entry.getKey(), entry.getValue()))
+        .toList()
+    );
+    log.debug("{} events stored in outbox for topic: {}", eventsByKey.size(), topic);
+  }
+
+  private OutboxEvent toOutboxEvent(String topic, String key, BaseEvent event) {
+    return OutboxEvent.builder()
+        .topic(topic)
+        .key(key)
+        .type(event.getClass().getName())
+        .payload(jsonMapper.writeValueAsString(event))
+        .build();
+  }
+
+}
@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+
+-- changeset desckapg:1
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
+-- rollback DROP INDEX idx_orders_created_at_id
@@ -0,0 +1,24 @@
+-- liquibase formatted sql
+
+-- changeset desckapg:1
+-- Sequences advance by the Hibernate allocation size (BaseEntity.ID_ALLOCATION_SIZE), the pooled
+-- optimizer hands out the ids below each returned value, so every sequence is first moved past the
+-- ids already in use.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+SELECT setval('orders_id_seq', COALESCE(MAX(id), 0) + 1) FROM orders;
+-- rollback ALTER SEQUENCE orders_id_seq INCREMENT BY 1;
+
+-- changeset desckapg:2
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+SELECT setval('order_items_id_seq', COALESCE(MAX(id), 0) + 1) FROM order_items;
+-- rollback ALTER SEQUENCE order_items_id_seq INCREMENT BY 1;
+
+-- changeset desckapg:3
+ALTER SEQUENCE items_id_seq INCREMENT BY 50;
+SELECT setval('items_id_seq', COALESCE(MAX(id), 0) + 1) FROM items;
+-- rollback ALTER SEQUENCE items_id_seq INCREMENT BY 1;
+
+-- changeset desckapg:4
+ALTER SEQUENCE outbox_events_id_seq INCREMENT BY 50;
+SELECT setval('outbox_events_id_seq', COALESCE(MAX(id), 0) + 1) FROM outbox_events;
+-- rollback ALTER SEQUENCE outbox_events_id_seq INCREMENT BY 1;
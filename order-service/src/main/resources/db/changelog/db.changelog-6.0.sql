@@ -0,0 +1,31 @@
+-- liquibase formatted sql
+
+-- changeset desckapg:1
+CREATE TABLE order_summary (
+    order_id BIGINT PRIMARY KEY REFERENCES orders(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(64) NOT NULL,
+    item_count INT NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+-- rollback DROP TABLE order_summary;
+
+-- changeset desckapg:2
+CREATE INDEX idx_order_summary_user_id_created_at ON order_summary (user_id, created_at, order_id);
+-- rollback DROP INDEX idx_order_summary_user_id_created_at
+
+-- changeset desckapg:3
+CREATE INDEX idx_order_summary_status_created_at ON order_summary (status, created_at, order_id);
+-- rollback DROP INDEX idx_order_summary_status_created_at
+
+-- changeset desckapg:4
+INSERT INTO order_summary (order_id, user_id, status, item_count, total_amount, created_at, updated_at)
+SELECT o.id, o.user_id, o.status, COALESCE(SUM(oi.quantity), 0),
+       COALESCE(SUM(oi.quantity * i.price), 0), o.created_at, o.updated_at
+FROM orders o
+LEFT JOIN order_items oi ON oi.order_id = o.id
+LEFT JOIN items i ON i.id = oi.item_id
+GROUP BY o.id;
+-- rollback DELETE FROM order_summary;
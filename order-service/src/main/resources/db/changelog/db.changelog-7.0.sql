@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+
+-- changeset desckapg:1
+ALTER TABLE outbox_events
+    ADD COLUMN failed_at TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN failure TEXT;
+-- rollback ALTER TABLE outbox_events DROP COLUMN failed_at, DROP COLUMN failure;
+
+-- changeset desckapg:2
+CREATE INDEX idx_outbox_events_pending ON outbox_events (id) WHERE failed_at IS NULL;
+-- rollback DROP INDEX idx_outbox_events_pending
@@ -0,0 +1,59 @@
+package com.innowise.orderservice.integration.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.innowise.orderservice.cache.ItemCatalog;
+import com.innowise.orderservice.integration.AbstractIntegrationTest;
+import com.innowise.orderservice.integration.annotation.IT;
+import com.innowise.orderservice.model.dto.item.ItemDto;
+import com.innowise.orderservice.service.ItemService;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@IT
+@TestPropertySource(properties = "items.catalog.cache.enabled=true")
+@RequiredArgsConstructor
+class ItemCatalogIT extends AbstractIntegrationTest {
+
+  private final ItemCatalog itemCatalog;
+  private final ItemService itemService;
+  private final TransactionTemplate tt;
+
+  @Test
+  void findAll_itemCreated_bumpVersionAndReload() {
+    tt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    var before = itemCatalog.findAll();
+    var version = itemCatalog.getVersion();
+
+    var createdItem = tt.execute(_ -> itemService.create(ItemDto.builder()
+        .name(FAKER.commerce().productName())
+        .price(BigDecimal.TEN)
+        .build()));
+
+    try {
+      assertThat(itemCatalog.getVersion()).isGreaterThan(version);
+      var after = itemCatalog.findAll();
+      assertThat(after.eTag()).isNotEqualTo(before.eTag());
+      assertThat(new String(after.json(), StandardCharsets.UTF_8))
+          .contains(createdItem.name());
+      assertThat(itemCatalog.findById(createdItem.id()).json())
+          .isEqualTo(itemCatalog.findById(createdItem.id()).json());
+    } finally {
+      tt.executeWithoutResult(_ -> itemService.delete(createdItem.id()));
+    }
+  }
+
+  @Test
+  void findAll_noWrites_returnSameSnapshot() {
+    var first = itemCatalog.findAll();
+    var second = itemCatalog.findAll();
+
+    assertThat(second).isSameAs(first);
+  }
+
+}
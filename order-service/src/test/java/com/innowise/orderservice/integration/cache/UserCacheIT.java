@@ -0,0 +1,83 @@
+package com.innowise.orderservice.integration.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.orderservice.cache.UserCache;
+import com.innowise.orderservice.integration.AbstractIntegrationTest;
+import com.innowise.orderservice.integration.annotation.IT;
+import com.innowise.orderservice.service.client.UserServiceClient;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@IT
+@TestPropertySource(properties = "services.user-service.cache.enabled=true")
+@RequiredArgsConstructor
+class UserCacheIT extends AbstractIntegrationTest {
+
+  private static final String AUTHORIZATION = "Bearer token";
+
+  private final UserCache userCache;
+  private final Cache<Long, UserDto> userDtoCache;
+  private final UserServiceClient userServiceClient;
+
+  @BeforeEach
+  void clearCache() {
+    userDtoCache.invalidateAll();
+  }
+
+  @Test
+  void findById_calledTwice_requestUserServiceOnce() {
+    var userDto = createUserDto(1L);
+    when(userServiceClient.findById(eq(userDto.id()), anyString())).thenReturn(userDto);
+
+    assertThat(userCache.findById(userDto.id(), AUTHORIZATION)).isEqualTo(userDto);
+    assertThat(userCache.findById(userDto.id(), AUTHORIZATION)).isEqualTo(userDto);
+
+    verify(userServiceClient, times(1)).findById(eq(userDto.id()), anyString());
+  }
+
+  @Test
+  void findAllByIds_partiallyCached_requestOnlyMissingUsers() {
+    var cachedUserDto = createUserDto(3L);
+    var missingUserDto = createUserDto(4L);
+    when(userServiceClient.findById(eq(cachedUserDto.id()), anyString()))
+        .thenReturn(cachedUserDto);
+    when(userServiceClient.findAllByIds(eq(Set.of(missingUserDto.id())), anyString()))
+        .thenReturn(List.of(missingUserDto));
+
+    userCache.findById(cachedUserDto.id(), AUTHORIZATION);
+
+    assertThat(userCache.findAllByIds(Set.of(cachedUserDto.id(), missingUserDto.id()),
+        AUTHORIZATION))
+        .containsEntry(cachedUserDto.id(), cachedUserDto)
+        .containsEntry(missingUserDto.id(), missingUserDto);
+
+    verify(userServiceClient, times(1)).findAllByIds(anyCollection(), anyString());
+    verify(userServiceClient, times(1)).findAllByIds(eq(Set.of(missingUserDto.id())), anyString());
+  }
+
+  private UserDto createUserDto(Long id) {
+    return new UserDto(
+        id,
+        FAKER.name().firstName(),
+        FAKER.name().lastName(),
+        LocalDate.now().minusYears(20),
+        FAKER.internet().emailAddress(),
+        List.of()
+    );
+  }
+
+}
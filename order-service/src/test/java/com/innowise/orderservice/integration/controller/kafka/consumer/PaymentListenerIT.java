@@ -134,7 +134,7 @@ class PaymentListenerIT extends AbstractIntegrationTest {
         });
 
     Mockito.verify(orderService, Mockito.times(1))
-        .processPaymentCreation(Mockito.any());
+        .processPaymentEvents(Mockito.any());
   }
 
   @Test
@@ -234,7 +234,27 @@ class PaymentListenerIT extends AbstractIntegrationTest {
         });
 
     Mockito.verify(orderService, Mockito.times(1))
-        .processPaymentUpdate(Mockito.any(), Mockito.any());
+        .processPaymentEvents(Mockito.any());
+  }
+
+  @Test
+  void consumePaymentStatusUpdatedEvent_orderDoesNotExist_sendToDltWithoutRetries() {
+    kafkaTemplate.send(MessageBuilder
+        .withPayload(new PaymentStatusUpdatedEvent(
+            Arbitraries.strings().sample(),
+            Long.MAX_VALUE,
+            PaymentStatus.PROCESSING,
+            PaymentStatus.SUCCEEDED
+        ))
+        .setHeader(KafkaHeaders.TOPIC, paymentsTopic)
+        .build()
+    );
+
+    await().during(Duration.ofSeconds(5)).until(() -> true);
+
+    // a missing order is not retryable, so the event is recovered after its first attempt
+    Mockito.verify(orderService, Mockito.times(1))
+        .processPaymentEvents(Mockito.any());
   }
 
 }
@@ -0,0 +1,93 @@
+package com.innowise.orderservice.integration.controller.kafka.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.innowise.common.model.dto.order.OrderDto;
+import com.innowise.common.model.event.OrderCreatedEvent;
+import com.innowise.orderservice.integration.AbstractIntegrationTest;
+import com.innowise.orderservice.integration.annotation.IT;
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import com.innowise.orderservice.service.OutboxService;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@IT
+@RequiredArgsConstructor
+class OutboxRelayIT extends AbstractIntegrationTest {
+
+  private final OutboxService outboxService;
+  private final OutboxEventRepository outboxEventRepository;
+  private final TransactionTemplate tt;
+
+  @Value("${spring.kafka.topics.orders.name}")
+  private String ordersTopic;
+
+  @Test
+  void relay_committedEvents_sendAndRemoveFromOutbox() {
+    tt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    var savedIds = tt.execute(_ -> {
+      for (long orderId = 1; orderId <= 3; orderId++) {
+        outboxService.save(ordersTopic, String.valueOf(orderId),
+            new OrderCreatedEvent(new OrderDto(orderId, null, null, List.of())));
+      }
+      return outboxEventRepository.findAll().stream().map(OutboxEvent::getId).toList();
+    });
+
+    assertThat(savedIds).hasSizeGreaterThanOrEqualTo(3);
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .pollInterval(Duration.ofMillis(200))
+        .untilAsserted(() -> assertThat(outboxEventRepository.findAllById(savedIds)).isEmpty());
+  }
+
+  @Test
+  void relay_uncommittedEvents_keepInOutbox() {
+    var key = "uncommitted";
+    outboxService.save(ordersTopic, key,
+        new OrderCreatedEvent(new OrderDto(1L, null, null, List.of())));
+
+    await().during(Duration.ofSeconds(1)).until(() -> true);
+
+    assertThat(outboxEventRepository.findAll())
+        .anySatisfy(outboxEvent -> assertThat(outboxEvent.getKey()).isEqualTo(key));
+  }
+
+  @Test
+  void relay_unreadableEvent_quarantineAndRelayTheRest() {
+    tt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    var unreadableId = tt.execute(_ -> outboxEventRepository.save(OutboxEvent.builder()
+        .topic(ordersTopic)
+        .key("unreadable")
+        .type("com.innowise.common.model.event.RemovedEvent")
+        .payload("{}")
+        .build()
+    ).getId());
+    var readableIds = tt.execute(_ -> {
+      outboxService.save(ordersTopic, "readable",
+          new OrderCreatedEvent(new OrderDto(1L, null, null, List.of())));
+      return outboxEventRepository.findAll().stream()
+          .map(OutboxEvent::getId)
+          .filter(id -> !id.equals(unreadableId))
+          .toList();
+    });
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .pollInterval(Duration.ofMillis(200))
+        .untilAsserted(() -> assertThat(outboxEventRepository.findAllById(readableIds)).isEmpty());
+
+    assertThat(outboxEventRepository.findById(unreadableId)).hasValueSatisfying(outboxEvent -> {
+      assertThat(outboxEvent.getFailedAt()).isNotNull();
+      assertThat(outboxEvent.getFailure()).contains("ClassNotFoundException");
+    });
+  }
+
+}
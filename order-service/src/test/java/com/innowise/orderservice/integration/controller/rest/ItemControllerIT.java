@@ -5,6 +5,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -24,6 +25,7 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
@@ -75,6 +77,31 @@ class ItemControllerIT extends AbstractIntegrationTest {
     );
   }
 
+  @Test
+  @WithMockCustomUser
+  void findById_matchingIfNoneMatch_returnNotModified() throws Exception {
+    var item = itemsSut.giveMeOne(Item.class);
+
+    em.persist(item);
+    em.flush();
+    em.clear();
+
+    var eTag = mockMvc.perform(
+        get(URI.create("/api/v1/orders/items/" + item.getId()))
+    ).andExpectAll(
+        status().isOk(),
+        header().exists(HttpHeaders.ETAG)
+    ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(
+        get(URI.create("/api/v1/orders/items/" + item.getId()))
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+    ).andExpectAll(
+        status().isNotModified(),
+        header().string(HttpHeaders.ETAG, eTag)
+    );
+  }
+
   @Test
   @WithMockCustomUser
   void findById_itemNotExists_returnNotFound() throws Exception {
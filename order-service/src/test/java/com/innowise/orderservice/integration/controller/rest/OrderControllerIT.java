@@ -1,6 +1,7 @@
 package com.innowise.orderservice.integration.controller.rest;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -9,15 +10,21 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.innowise.auth.security.provider.AuthTokenProvider;
 import com.innowise.auth.test.annotation.WithMockCustomUser;
 import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.orderservice.controller.rest.OrderController;
 import com.innowise.orderservice.integration.AbstractIntegrationTest;
 import com.innowise.orderservice.integration.annotation.IT;
+import com.innowise.orderservice.model.dto.item.ItemDto;
+import com.innowise.orderservice.model.dto.order.OrderBatchDto;
 import com.innowise.orderservice.model.dto.order.OrderDto;
+import com.innowise.orderservice.model.dto.orderitem.OrderItemDto;
 import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.entity.OrderItem;
@@ -30,6 +37,7 @@ import com.navercorp.fixturemonkey.api.jqwik.JqwikPlugin;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import net.jqwik.api.Arbitraries;
 import org.hamcrest.Matchers;
@@ -212,6 +220,70 @@ class OrderControllerIT extends AbstractIntegrationTest {
 
   }
 
+  @Test
+  @WithMockCustomUser
+  void createAll_someOrdersWithUnknownItems_returnPerOrderResults() throws Exception {
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(2);
+    orders.forEach(order -> {
+      order.getOrderItems().forEach(item -> item.setOrder(order));
+      order.getOrderItems().stream()
+          .map(OrderItem::getItem)
+          .forEach(em::persist);
+    });
+    em.flush();
+
+    var unknownItemOrderDto = OrderDto.builder()
+        .orderItems(List.of(OrderItemDto.builder()
+            .item(ItemDto.builder().id(Long.MAX_VALUE).build())
+            .quantity(1)
+            .build()))
+        .build();
+
+    when(userServiceClient.findById(
+            anyLong(),
+            anyString()
+        )
+    ).thenReturn(ownedUserDto);
+
+    var orderBatchDto = OrderBatchDto.builder()
+        .orders(List.of(
+            orderMapper.toDto(orders.getFirst(), ownedUserDto),
+            unknownItemOrderDto,
+            orderMapper.toDto(orders.getLast(), ownedUserDto)
+        ))
+        .build();
+
+    mockMvc.perform(
+        post(URI.create("/api/v1/orders/batch"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(jsonMapper.writeValueAsString(orderBatchDto))
+    ).andExpectAll(
+        status().isOk(),
+        jsonPath("$").value(Matchers.hasSize(3)),
+        jsonPath("$[0].order.id").isNumber(),
+        jsonPath("$[0].order.status").value(OrderStatus.NEW.name()),
+        jsonPath("$[1].order").doesNotExist(),
+        jsonPath("$[1].error").isString(),
+        jsonPath("$[2].order.id").isNumber()
+    );
+  }
+
+  @Test
+  @WithMockCustomUser
+  void createAll_emptyBatch_returnUnprocessableContent() throws Exception {
+    mockMvc.perform(
+        post(URI.create("/api/v1/orders/batch"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(jsonMapper.writeValueAsString(new OrderBatchDto(List.of())))
+    ).andExpectAll(
+        status().isUnprocessableContent()
+    );
+  }
+
   @Test
   @WithMockCustomUser(
       roles = {
@@ -275,11 +347,11 @@ class OrderControllerIT extends AbstractIntegrationTest {
     em.flush();
     em.clear();
 
-    when(userServiceClient.findById(
-            anyLong(),
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
             anyString()
         )
-    ).thenReturn(ownedUserDto);
+    ).thenReturn(List.of(ownedUserDto));
 
     var requestIds = Arbitraries.of(orders.stream().map(Order::getId).toList())
         .list()
@@ -298,4 +370,135 @@ class OrderControllerIT extends AbstractIntegrationTest {
     );
   }
 
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void findAll_limitLessThanMatchedOrders_returnNextCursorHeader() throws Exception {
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(3);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    orders.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
+            anyString()
+        )
+    ).thenReturn(List.of(ownedUserDto));
+
+    mockMvc.perform(
+        get(URI.create("/api/v1/orders"))
+            .param("userId", String.valueOf(ownedUserDto.id()))
+            .param("limit", "2")
+    ).andExpectAll(
+        status().isOk(),
+        header().exists(OrderController.NEXT_CURSOR_HEADER),
+        jsonPath("$").value(Matchers.hasSize(2))
+    );
+  }
+
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void findAll_malformedCursor_returnBadRequest() throws Exception {
+    mockMvc.perform(
+        get(URI.create("/api/v1/orders"))
+            .param("cursor", "not-a-cursor")
+    ).andExpectAll(
+        status().isBadRequest(),
+        jsonPath("$.field").value("cursor")
+    );
+  }
+
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void streamAll_acceptNdjson_writeOrderPerLine() throws Exception {
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(3);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    orders.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
+            anyString()
+        )
+    ).thenReturn(List.of(ownedUserDto));
+
+    var content = mockMvc.perform(
+        get(URI.create("/api/v1/orders"))
+            .param("userId", String.valueOf(ownedUserDto.id()))
+            .accept(MediaType.APPLICATION_NDJSON)
+    ).andExpectAll(
+        status().isOk(),
+        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+    ).andReturn().getResponse().getContentAsString();
+
+    assertThat(content.lines()
+        .map(line -> jsonMapper.readValue(line, OrderDto.class).id())
+        .toList()
+    ).containsExactlyInAnyOrderElementsOf(orders.stream().map(Order::getId).toList());
+  }
+
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void streamAll_moreOrdersThanChunk_writeEveryOrderOnce() throws Exception {
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .size("orderItems", 0)
+        .sampleList(250);
+
+    orders.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
+            anyString()
+        )
+    ).thenReturn(List.of(ownedUserDto));
+
+    var content = mockMvc.perform(
+        get(URI.create("/api/v1/orders"))
+            .param("userId", String.valueOf(ownedUserDto.id()))
+            .accept(MediaType.APPLICATION_NDJSON)
+    ).andExpectAll(
+        status().isOk(),
+        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+    ).andReturn().getResponse().getContentAsString();
+
+    assertThat(content.lines()
+        .map(line -> jsonMapper.readValue(line, OrderDto.class).id())
+        .toList()
+    ).containsExactlyInAnyOrderElementsOf(orders.stream().map(Order::getId).toList());
+  }
+
 }
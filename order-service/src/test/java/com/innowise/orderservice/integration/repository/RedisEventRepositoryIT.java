@@ -0,0 +1,80 @@
+package com.innowise.orderservice.integration.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.innowise.orderservice.config.IdempotencyConfig;
+import com.innowise.orderservice.integration.AbstractIntegrationTest;
+import com.innowise.orderservice.integration.annotation.IT;
+import com.innowise.orderservice.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@IT
+@RequiredArgsConstructor
+class RedisEventRepositoryIT extends AbstractIntegrationTest {
+
+  private final EventRepository eventRepository;
+  private final RedisTemplate<String, String> redisTemplate;
+  private final IdempotencyConfig idempotencyConfig;
+  private final MeterRegistry meterRegistry;
+
+  @Test
+  void saveProcessedEvent_storedInExpiringBucket() {
+    var groupId = UUID.randomUUID().toString();
+    var eventId = UUID.randomUUID().toString();
+
+    eventRepository.saveProcessedEvent(groupId, eventId);
+
+    var keys = redisTemplate.keys(groupId + ":*");
+    assertThat(keys).hasSize(1);
+    var key = keys.iterator().next();
+    assertThat(redisTemplate.opsForSet().isMember(key, eventId)).isTrue();
+    assertThat(redisTemplate.getExpire(key))
+        .isPositive()
+        .isLessThanOrEqualTo(idempotencyConfig.getRetention()
+            .plus(idempotencyConfig.getBucket()).toSeconds());
+  }
+
+  @Test
+  void isEventProcessed_unseenEvent_answeredByBloomFilter() {
+    var groupId = UUID.randomUUID().toString();
+    var bloomMisses = checksCount("bloom-miss");
+
+    assertThat(eventRepository.isEventProcessed(groupId, UUID.randomUUID().toString())).isFalse();
+
+    assertThat(checksCount("bloom-miss")).isEqualTo(bloomMisses + 1);
+  }
+
+  @Test
+  void findProcessedEvents_returnsOnlySavedEvents() {
+    var groupId = UUID.randomUUID().toString();
+    var savedIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    var unseenId = UUID.randomUUID().toString();
+    eventRepository.saveProcessedEvents(groupId, savedIds);
+
+    assertThat(eventRepository.findProcessedEvents(groupId, List.of(savedIds.getFirst(),
+        savedIds.getLast(), unseenId)))
+        .containsExactlyInAnyOrderElementsOf(savedIds);
+    assertThat(eventRepository.isEventProcessed(groupId, savedIds.getFirst())).isTrue();
+  }
+
+  @Test
+  void resetFilters_warmsUpFromRedis() {
+    var groupId = UUID.randomUUID().toString();
+    var eventId = UUID.randomUUID().toString();
+    eventRepository.saveProcessedEvent(groupId, eventId);
+
+    eventRepository.resetFilters(groupId);
+
+    assertThat(eventRepository.isEventProcessed(groupId, eventId)).isTrue();
+  }
+
+  private double checksCount(String result) {
+    return meterRegistry.get("events.idempotency.checks").tag("result", result).counter().count();
+  }
+
+}
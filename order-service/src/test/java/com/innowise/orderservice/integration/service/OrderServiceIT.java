@@ -3,6 +3,8 @@ package com.innowise.orderservice.integration.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -10,44 +12,66 @@ import static org.mockito.Mockito.when;
 
 import com.innowise.auth.security.provider.AuthTokenProvider;
 import com.innowise.auth.test.annotation.WithMockCustomUser;
+import com.innowise.common.exception.ExternalApiException;
 import com.innowise.common.exception.ResourceNotFoundException;
 import com.innowise.common.model.dto.user.UserDto;
+import com.innowise.common.model.event.OrderCreatedEvent;
 import com.innowise.orderservice.integration.AbstractIntegrationTest;
 import com.innowise.orderservice.integration.annotation.IT;
+import com.innowise.orderservice.model.dto.item.ItemDto;
 import com.innowise.orderservice.model.dto.order.OrderDto;
 import com.innowise.orderservice.model.dto.order.OrderSpecsDto;
+import com.innowise.orderservice.model.dto.order.OrderSummaryDto;
+import com.innowise.orderservice.model.dto.orderitem.OrderItemDto;
 import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.model.entity.OrderSummary;
 import com.innowise.orderservice.model.enums.OrderStatus;
 import com.innowise.orderservice.model.mapper.OrderMapper;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import com.innowise.orderservice.service.ItemService;
 import com.innowise.orderservice.service.OrderService;
+import com.innowise.orderservice.service.OrderSummaryService;
 import com.innowise.orderservice.service.client.UserServiceClient;
 import com.navercorp.fixturemonkey.FixtureMonkey;
 import com.navercorp.fixturemonkey.api.introspector.ConstructorPropertiesArbitraryIntrospector;
 import com.navercorp.fixturemonkey.api.jqwik.JqwikPlugin;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import net.jqwik.api.Arbitraries;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
 @IT
 @RequiredArgsConstructor
 class OrderServiceIT extends AbstractIntegrationTest {
 
+  private static final Duration USER_SERVICE_LATENCY = Duration.ofMillis(300);
+
   private final OrderService orderService;
   private final OrderMapper orderMapper;
   private final UserServiceClient userServiceClient;
   private final AuthTokenProvider authTokenProvider;
   private final TransactionTemplate tt;
   private final TestEntityManager em;
+  private final OutboxEventRepository outboxEventRepository;
+  private final OrderSummaryService orderSummaryService;
+  private final ItemService itemService;
 
   private FixtureMonkey itemsSut;
   private FixtureMonkey orderItemSut;
@@ -233,16 +257,19 @@ class OrderServiceIT extends AbstractIntegrationTest {
     em.flush();
     em.clear();
 
-    when(userServiceClient.findById(
-            anyLong(),
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
             anyString()
         )
-    ).thenReturn(ownedUserDto);
+    ).thenReturn(List.of(ownedUserDto));
 
     assertThat(orderService.findAll(OrderSpecsDto.builder()
         .ids(orders.stream().map(Order::getId).toList())
-        .build())
+        .build()).content()
     ).containsAll(orders.stream().map(order -> orderMapper.toDto(order, ownedUserDto)).toList());
+
+    Mockito.verify(userServiceClient, Mockito.times(1)).findAllByIds(anyCollection(), anyString());
+    Mockito.verify(userServiceClient, Mockito.never()).findById(anyLong(), anyString());
   }
 
   @Test
@@ -281,15 +308,15 @@ class OrderServiceIT extends AbstractIntegrationTest {
     em.flush();
     em.clear();
 
-    when(userServiceClient.findById(
-            anyLong(),
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
             anyString()
         )
-    ).thenReturn(ownedUserDto);
+    ).thenReturn(List.of(ownedUserDto));
 
     assertThat(orderService.findAll(OrderSpecsDto.builder()
         .statuses(orders.stream().map(Order::getStatus).distinct().toList())
-        .build())
+        .build()).content()
     ).containsExactlyInAnyOrderElementsOf(
         orders.stream()
             .map(order -> orderMapper.toDto(order, ownedUserDto))
@@ -334,15 +361,15 @@ class OrderServiceIT extends AbstractIntegrationTest {
     em.flush();
     em.clear();
 
-    when(userServiceClient.findById(
-            anyLong(),
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
             anyString()
         )
-    ).thenReturn(ownedUserDto);
+    ).thenReturn(List.of(ownedUserDto));
 
     assertThat(orderService.findAll(OrderSpecsDto.builder()
         .userId(ownedUserDto.id())
-        .build())
+        .build()).content()
     ).containsAll(orders.stream().map(order -> orderMapper.toDto(order, ownedUserDto)).toList());
   }
 
@@ -367,15 +394,15 @@ class OrderServiceIT extends AbstractIntegrationTest {
     em.flush();
     em.clear();
 
-    when(userServiceClient.findById(
-            anyLong(),
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
             anyString()
         )
-    ).thenReturn(ownedUserDto);
+    ).thenReturn(List.of(ownedUserDto));
 
     assertThat(orderService.findAll(OrderSpecsDto.builder()
         .userId(ownedUserDto.id())
-        .build())
+        .build()).content()
     ).containsAll(orders.stream().map(order -> orderMapper.toDto(order, ownedUserDto)).toList());
   }
 
@@ -399,11 +426,11 @@ class OrderServiceIT extends AbstractIntegrationTest {
     em.flush();
     em.clear();
 
-    when(userServiceClient.findById(
-            anyLong(),
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
             anyString()
         )
-    ).thenReturn(ownedUserDto);
+    ).thenReturn(List.of(ownedUserDto));
 
     var orderSpecsDto = OrderSpecsDto.builder()
         .userId(ownedUserDto.id())
@@ -414,6 +441,135 @@ class OrderServiceIT extends AbstractIntegrationTest {
 
   }
 
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void findAll_withoutLimitAndCursor_returnAllOrders() {
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(OrderSpecsDto.DEFAULT_LIMIT + 1);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    orders.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
+            anyString()
+        )
+    ).thenReturn(List.of(ownedUserDto));
+
+    var page = orderService.findAll(OrderSpecsDto.builder()
+        .userId(ownedUserDto.id())
+        .build());
+
+    assertThat(page.content()).hasSize(orders.size());
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void findAll_withLimit_returnPagesLinkedByCursor() {
+
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(5);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    orders.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
+            anyString()
+        )
+    ).thenReturn(List.of(ownedUserDto));
+
+    var firstPage = orderService.findAll(OrderSpecsDto.builder()
+        .userId(ownedUserDto.id())
+        .limit(2)
+        .build());
+    var secondPage = orderService.findAll(OrderSpecsDto.builder()
+        .userId(ownedUserDto.id())
+        .cursor(firstPage.nextCursor())
+        .limit(2)
+        .build());
+    var lastPage = orderService.findAll(OrderSpecsDto.builder()
+        .userId(ownedUserDto.id())
+        .cursor(secondPage.nextCursor())
+        .limit(2)
+        .build());
+
+    assertThat(firstPage.content()).hasSize(2);
+    assertThat(secondPage.content()).hasSize(2);
+    assertThat(lastPage.content()).hasSize(1);
+    assertThat(lastPage.nextCursor()).isNull();
+    assertThat(Stream.of(firstPage, secondPage, lastPage)
+        .flatMap(page -> page.content().stream())
+        .map(OrderDto::id)
+        .toList()
+    ).containsExactlyInAnyOrderElementsOf(orders.stream().map(Order::getId).toList());
+  }
+
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void findAll_fullDetails_loadOrdersInFixedNumberOfStatements() {
+
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(20);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    orders.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findAllByIds(
+            anyCollection(),
+            anyString()
+        )
+    ).thenReturn(List.of(ownedUserDto));
+
+    var statistics = em.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    var page = orderService.findAll(OrderSpecsDto.builder()
+        .userId(ownedUserDto.id())
+        .fullDetails(true)
+        .build());
+
+    assertThat(page.content()).hasSize(orders.size());
+    assertThat(page.content())
+        .flatMap(OrderDto::orderItems)
+        .allSatisfy(orderItem -> assertThat(orderItem.item().name()).isNotNull());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
   @Test
   @WithMockCustomUser
   void create() {
@@ -440,6 +596,307 @@ class OrderServiceIT extends AbstractIntegrationTest {
         .isThrownBy(() -> orderService.create(orderMapper.toDto(order, ownedUserDto)));
 
     assertThat(em.find(Order.class, order.getId())).isEqualTo(order);
+    assertThat(outboxEventRepository.findAll())
+        .anySatisfy(outboxEvent -> assertThat(outboxEvent.getType())
+            .isEqualTo(OrderCreatedEvent.class.getName()));
+  }
+
+  @Test
+  @WithMockCustomUser
+  void create_manyOrderItems_insertInBatches() {
+
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var items = itemsSut.giveMe(Item.class, 30);
+    items.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findById(
+            anyLong(),
+            anyString()
+        )
+    ).thenReturn(ownedUserDto);
+
+    var orderDto = OrderDto.builder()
+        .orderItems(items.stream()
+            .map(item -> OrderItemDto.builder()
+                .item(ItemDto.builder().id(item.getId()).build())
+                .quantity(1)
+                .build())
+            .toList())
+        .build();
+
+    var statistics = em.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    var createdOrderDto = orderService.create(orderDto);
+    em.flush();
+
+    assertThat(em.find(Order.class, createdOrderDto.id()).getOrderItems()).hasSize(items.size());
+    // the item lookup, then the order, its lines and the outbox event: one batch per table plus
+    // at most two sequence calls per table and the summary upsert, instead of one statement per row
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(items.size() + 2L);
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(12);
+  }
+
+  @Test
+  @WithMockCustomUser
+  void create_slowUserService_resolveItemsWhileUserIsFetched() {
+
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var items = itemsSut.giveMe(Item.class, 3);
+    items.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    var itemStatistics = em.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics()
+        .getEntityStatistics(Item.class.getName());
+    var itemsLoadedBefore = itemStatistics.getLoadCount();
+
+    var callerThread = Thread.currentThread();
+    var userFetchThread = new AtomicReference<Thread>();
+    var itemsLoadedWhileUserFetched = new AtomicLong();
+    when(userServiceClient.findById(
+            anyLong(),
+            anyString()
+        )
+    ).thenAnswer(_ -> {
+      userFetchThread.set(Thread.currentThread());
+      Thread.sleep(USER_SERVICE_LATENCY);
+      itemsLoadedWhileUserFetched.set(itemStatistics.getLoadCount() - itemsLoadedBefore);
+      return ownedUserDto;
+    });
+
+    var orderDto = OrderDto.builder()
+        .orderItems(items.stream()
+            .map(item -> OrderItemDto.builder()
+                .item(ItemDto.builder().id(item.getId()).build())
+                .quantity(1)
+                .build())
+            .toList())
+        .build();
+
+    var startedAt = System.nanoTime();
+    orderService.create(orderDto);
+    var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+    assertThat(userFetchThread.get()).isNotEqualTo(callerThread);
+    // with a sequential lookup no item would have been loaded before the user service answered
+    assertThat(itemsLoadedWhileUserFetched.get()).isEqualTo(items.size());
+    assertThat(elapsed).isLessThan(USER_SERVICE_LATENCY.multipliedBy(2));
+  }
+
+  @Test
+  @WithMockCustomUser
+  void create_userServiceUnavailable_throwExternalApiExceptionAndPersistNothing() {
+
+    var items = itemsSut.giveMe(Item.class, 2);
+    items.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findById(
+            anyLong(),
+            anyString()
+        )
+    ).thenThrow(new ExternalApiException("Exception during request to User Service"));
+
+    var orderDto = OrderDto.builder()
+        .orderItems(items.stream()
+            .map(item -> OrderItemDto.builder()
+                .item(ItemDto.builder().id(item.getId()).build())
+                .quantity(1)
+                .build())
+            .toList())
+        .build();
+
+    var ordersBefore = countOrders();
+
+    assertThatExceptionOfType(ExternalApiException.class)
+        .isThrownBy(() -> orderService.create(orderDto));
+    assertThat(countOrders()).isEqualTo(ordersBefore);
+  }
+
+  @Test
+  @WithMockCustomUser
+  void create_itemNotExists_throwResourceNotFoundException() {
+
+    var orderDto = OrderDto.builder()
+        .orderItems(List.of(OrderItemDto.builder()
+            .item(ItemDto.builder().id(Long.MAX_VALUE).build())
+            .quantity(1)
+            .build()))
+        .build();
+
+    var ordersBefore = countOrders();
+
+    assertThatExceptionOfType(ResourceNotFoundException.class)
+        .isThrownBy(() -> orderService.create(orderDto));
+    assertThat(countOrders()).isEqualTo(ordersBefore);
+  }
+
+  @Test
+  @WithMockCustomUser
+  void create_itemNotExists_cancelUserLookup() {
+
+    var userLookupInterrupted = new CountDownLatch(1);
+    when(userServiceClient.findById(
+            anyLong(),
+            anyString()
+        )
+    ).thenAnswer(_ -> {
+      try {
+        Thread.sleep(USER_SERVICE_LATENCY.multipliedBy(10));
+      } catch (InterruptedException e) {
+        userLookupInterrupted.countDown();
+        throw e;
+      }
+      return userDtosSut.giveMeOne(UserDto.class);
+    });
+
+    var orderDto = OrderDto.builder()
+        .orderItems(List.of(OrderItemDto.builder()
+            .item(ItemDto.builder().id(Long.MAX_VALUE).build())
+            .quantity(1)
+            .build()))
+        .build();
+
+    assertThatExceptionOfType(ResourceNotFoundException.class)
+        .isThrownBy(() -> orderService.create(orderDto));
+    await()
+        .atMost(USER_SERVICE_LATENCY.multipliedBy(5))
+        .until(() -> userLookupInterrupted.getCount() == 0);
+  }
+
+  @Test
+  @WithMockCustomUser
+  void create_orderCreated_summaryMatchesOrder() {
+
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var items = itemsSut.giveMe(Item.class, 3);
+    items.forEach(em::persist);
+    em.flush();
+    em.clear();
+
+    when(userServiceClient.findById(
+            anyLong(),
+            anyString()
+        )
+    ).thenReturn(ownedUserDto);
+
+    var orderDto = OrderDto.builder()
+        .orderItems(items.stream()
+            .map(item -> OrderItemDto.builder()
+                .item(ItemDto.builder().id(item.getId()).build())
+                .quantity(2)
+                .build())
+            .toList())
+        .build();
+
+    var createdOrderDto = orderService.create(orderDto);
+
+    var expectedTotal = items.stream()
+        .map(item -> item.getPrice().multiply(BigDecimal.TWO))
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    assertThat(em.find(OrderSummary.class, createdOrderDto.id())).satisfies(summary -> {
+      assertThat(summary.getUserId()).isEqualTo(ownedUserDto.id());
+      assertThat(summary.getStatus()).isEqualTo(OrderStatus.NEW);
+      assertThat(summary.getItemCount()).isEqualTo(items.size() * 2);
+      assertThat(summary.getTotalAmount()).isEqualByComparingTo(expectedTotal);
+    });
+  }
+
+  @Test
+  @WithMockCustomUser(
+      roles = {
+          "MANAGER"
+      }
+  )
+  void findAllSummaries_byUserId_returnSummariesWithoutUserLookup() {
+
+    var ownedUserDto = userDtosSut.giveMeOne(UserDto.class);
+
+    var orders = ordersSut.giveMeBuilder(Order.class)
+        .set("userId", ownedUserDto.id())
+        .sampleList(3);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    orders.forEach(em::persist);
+    em.flush();
+    orderSummaryService.refresh(orders.stream().map(Order::getId).toList());
+    em.clear();
+
+    var page = orderService.findAllSummaries(OrderSpecsDto.builder()
+        .userId(ownedUserDto.id())
+        .build());
+
+    assertThat(page.content())
+        .map(OrderSummaryDto::id)
+        .containsExactlyInAnyOrderElementsOf(orders.stream().map(Order::getId).toList());
+    assertThat(page.content())
+        .allSatisfy(summary -> assertThat(summary.itemCount()).isPositive());
+    assertThat(page.nextCursor()).isNull();
+    Mockito.verifyNoInteractions(userServiceClient);
+  }
+
+  @Test
+  void refreshByItem_itemPriceUpdated_recomputeTotalsOfContainingOrders() {
+
+    var order = ordersSut.giveMeBuilder(Order.class)
+        .size("orderItems", 1)
+        .sample();
+
+    order.getOrderItems().forEach(item -> item.setOrder(order));
+
+    em.persist(order);
+    em.flush();
+    orderSummaryService.refresh(List.of(order.getId()));
+    em.clear();
+
+    var orderItem = order.getOrderItems().getFirst();
+    var item = orderItem.getItem();
+    var newPrice = item.getPrice().add(BigDecimal.TEN);
+
+    itemService.update(item.getId(), ItemDto.builder()
+        .name(item.getName())
+        .price(newPrice)
+        .build());
+    em.clear();
+
+    assertThat(em.find(OrderSummary.class, order.getId()).getTotalAmount())
+        .isEqualByComparingTo(newPrice.multiply(BigDecimal.valueOf(orderItem.getQuantity())));
+  }
+
+  @Test
+  void rebuild_summariesMissing_populateFromOrders() {
+
+    var orders = ordersSut.sampleList(3);
+
+    orders.forEach(order -> order.getOrderItems().forEach(item -> item.setOrder(order)));
+
+    tt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    tt.executeWithoutResult(_ -> {
+      orders.forEach(em::persist);
+      em.flush();
+    });
+
+    var orderIds = orders.stream().map(Order::getId).toList();
+
+    assertThat(orderSummaryService.rebuild(2)).isGreaterThanOrEqualTo(orders.size());
+    assertThat(tt.execute(_ -> orderIds.stream()
+        .filter(id -> em.find(OrderSummary.class, id) != null)
+        .count())
+    ).isEqualTo(orders.size());
   }
 
   @Test
@@ -499,5 +956,10 @@ class OrderServiceIT extends AbstractIntegrationTest {
 
   }
 
+  private long countOrders() {
+    return em.getEntityManager()
+        .createQuery("SELECT COUNT(o) FROM Order o", Long.class)
+        .getSingleResult();
+  }
 
 }
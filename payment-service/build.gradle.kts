@@ -15,6 +15,7 @@ dependencies {
     implementation(project(":common"))
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
+    implementation("org.springframework.boot:spring-boot-starter-data-mongodb-reactive")
     implementation(libs.liquibase.mongodb)
     implementation(libs.mapstruct)
     implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-resilience4j")
@@ -1,7 +1,9 @@
 package com.innowise.paymentservice.config;
 
 import com.innowise.common.exception.ExternalApiException;
+import com.innowise.paymentservice.service.EventService;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.Predicate;
 import lombok.Data;
@@ -9,6 +11,8 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.PropertyMapper;
@@ -24,9 +28,10 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaAdmin.NewTopics;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties.AckMode;
-import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
-import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.util.backoff.BackOff;
 
 @Slf4j
@@ -36,8 +41,11 @@ import org.springframework.util.backoff.BackOff;
 @ConfigurationProperties(prefix = "spring.kafka")
 public class KafkaConfig {
 
+  private static final String DLT_SUFFIX = "-dlt";
+
   private Map<String, TopicConfig> topics;
   private KafkaProperties.Retry retry;
+  private ProcessingConfig processing = new ProcessingConfig();
 
   @Bean
   public KafkaAdmin.NewTopics topics() {
@@ -55,35 +63,37 @@ public class KafkaConfig {
 
   @Bean
   public ConcurrentKafkaListenerContainerFactory<String, String> concurrentKafkaListenerContainerFactory(
-      ConsumerFactory<String, String> consumerFactory) {
+      ConsumerFactory<String, String> consumerFactory,
+      KafkaTemplate<String, String> kafkaTemplate,
+      EventService eventService
+  ) {
     var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
     factory.setConsumerFactory(consumerFactory);
-    factory.getContainerProperties().setAckMode(AckMode.MANUAL_IMMEDIATE);
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+    factory.getContainerProperties().setConsumerRebalanceListener(
+        new ConsumerAwareRebalanceListener() {
+          @Override
+          public void onPartitionsAssigned(Consumer<?, ?> consumer,
+              Collection<TopicPartition> partitions) {
+            // events of the assigned partitions may have been processed by another instance
+            eventService.resetFilters(consumer.groupMetadata().groupId());
+          }
+        });
+    var errorHandler = new DefaultErrorHandler(
+        new DeadLetterPublishingRecoverer(kafkaTemplate,
+            (consumerRecord, _) -> new TopicPartition(consumerRecord.topic() + DLT_SUFFIX, -1)),
+        getBackOff(retry.getTopic().getBackoff(), retry.getTopic().getAttempts() - 1L)
+    );
+    errorHandler.defaultFalse();
+    errorHandler.addRetryableExceptions(DataAccessException.class, ExternalApiException.class);
+    factory.setCommonErrorHandler(errorHandler);
     return factory;
   }
 
-  @Bean
-  public RetryTopicConfiguration retryTopicConfiguration(
-      KafkaTemplate<String, String> kafkaTemplate,
-      ConcurrentKafkaListenerContainerFactory<String, String> concurrentKafkaListenerContainerFactory
-  ) {
-    return RetryTopicConfigurationBuilder
-        .newInstance()
-        .listenerFactory(concurrentKafkaListenerContainerFactory)
-        .customBackoff(getBackOff(retry.getTopic().getBackoff()))
-        .excludeTopics(topics.values().stream()
-            .filter(TopicConfig::isCreate)
-            .map(TopicConfig::getName)
-            .toList()
-        )
-        .retryOn(DataAccessException.class)
-        .retryOn(ExternalApiException.class)
-        .create(kafkaTemplate);
-  }
-
-  private BackOff getBackOff(Backoff retryTopicBackoff) {
+  private BackOff getBackOff(Backoff retryTopicBackoff, long maxRetries) {
     PropertyMapper map = PropertyMapper.get();
-    RetryPolicy.Builder builder = RetryPolicy.builder().maxRetries(Long.MAX_VALUE);
+    RetryPolicy.Builder builder = RetryPolicy.builder().maxRetries(maxRetries);
     map.from(retryTopicBackoff.getDelay()).to(builder::delay);
     map.from(retryTopicBackoff.getMaxDelay()).when(Predicate.not(Duration::isZero))
         .to(builder::maxDelay);
@@ -104,4 +114,16 @@ public class KafkaConfig {
 
   }
 
+  /**
+   * Number of keys whose records of a single poll are processed at once. Processing waits on
+   * Mongo, Kafka and the payment system rather than the CPU, so it is not tied to the core count.
+   */
+  @Getter
+  @Setter
+  public static class ProcessingConfig {
+
+    private int maxInFlight = 64;
+
+  }
+
 }
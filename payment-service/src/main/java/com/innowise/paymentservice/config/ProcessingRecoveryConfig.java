@@ -0,0 +1,24 @@
+package com.innowise.paymentservice.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Settings of the recovery of payments stuck in processing. Every {@link #interval} the payments
+ * that have been processing for longer than {@link #lease} are failed.
+ */
+@Configuration
+@EnableScheduling
+@ConfigurationProperties("payments.processing-recovery")
+@Data
+@NullMarked
+public class ProcessingRecoveryConfig {
+
+  private Duration lease = Duration.ofMinutes(5);
+  private Duration interval = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,23 @@
+package com.innowise.paymentservice.config;
+
+import lombok.Data;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings of the buffer of random values payments are decided by. Values are fetched
+ * {@link #batchSize} at a time, a refill starts once fewer than {@link #lowWatermark} are left.
+ * Without the buffer every payment fetches a single value.
+ */
+@Configuration
+@ConfigurationProperties("services.stipe.prefetch")
+@Data
+@NullMarked
+public class StripeClientConfig {
+
+  private boolean enabled = true;
+  private int batchSize = 500;
+  private int lowWatermark = 100;
+
+}
@@ -1,50 +1,188 @@
 package com.innowise.paymentservice.controller.kafka.consumer;
 
+import com.innowise.common.model.dto.payment.PaymentDto;
 import com.innowise.common.model.event.OrderCreatedEvent;
+import com.innowise.paymentservice.config.KafkaConfig;
 import com.innowise.paymentservice.service.EventService;
 import com.innowise.paymentservice.service.PaymentService;
-import jakarta.validation.Valid;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.jspecify.annotations.NullMarked;
-import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.KafkaUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 @NullMarked
-@Validated
-@KafkaListener(
-    topics = "${spring.kafka.topics.orders.name}",
-    containerFactory = "concurrentKafkaListenerContainerFactory"
-)
 public class OrderListener {
 
   private final PaymentService paymentService;
   private final EventService eventService;
+  private final KafkaConfig kafkaConfig;
+  private final Validator validator;
 
-  @KafkaHandler
-  public void consumeOrderCreatedEvent(
-      @Payload @Valid OrderCreatedEvent event,
-      @Header(KafkaHeaders.GROUP_ID) String groupId,
+  /**
+   * Payments of every new order of the poll are created with one bulk insert first. Then records
+   * sharing a key form a lane that is processed in order, while up to
+   * {@code spring.kafka.processing.max-in-flight} lanes run at once. A record is done once its
+   * payment reached the final status, the batch is acknowledged after every record is done.
+   */
+  @KafkaListener(
+      topics = "${spring.kafka.topics.orders.name}",
+      containerFactory = "concurrentKafkaListenerContainerFactory"
+  )
+  public void consumeOrderEvents(
+      List<ConsumerRecord<String, Object>> records,
       Acknowledgment acknowledgment
   ) {
-    log.info("Received {}", event);
-    if (eventService.isEventProcessed(groupId, event.getEventId().toString())) {
-      log.info("Skip OrderCreatedEvent{id={}} (had already processed earlier", event.getEventId());
-      return;
+    var groupId = KafkaUtils.getConsumerGroupId();
+    log.info("Received {} order events", records.size());
+    var failure = createPayments(records, groupId)
+        .flatMapMany(processings -> Flux.fromIterable(lanes(records))
+            .flatMap(lane -> consumeLane(processings, lane),
+                kafkaConfig.getProcessing().getMaxInFlight()))
+        .reduce(BinaryOperator.minBy(Comparator.comparingInt(Failure::index)))
+        .blockOptional();
+    if (failure.isPresent()) {
+      // offsets are committed up to the first record which was not processed
+      throw new BatchListenerFailedException("Failed to process order events",
+          failure.get().cause(), records.get(failure.get().index()));
     }
-    var payment = paymentService.create(event.getOrder());
-    paymentService.processPayment(payment.id());
-    eventService.saveProcessedEvent(groupId, event.getEventId().toString());
     acknowledgment.acknowledge();
   }
 
+  /**
+   * Creates the payments of all orders of the poll at once and maps the index of each record to
+   * the rest of its processing, which fails when the record was rejected. Records that need no
+   * processing are absent.
+   */
+  private Mono<Map<Integer, Mono<Void>>> createPayments(
+      List<ConsumerRecord<String, Object>> records, String groupId) {
+    var processings = new HashMap<Integer, Mono<Void>>();
+    var events = new LinkedHashMap<Integer, OrderCreatedEvent>();
+    for (int i = 0; i < records.size(); i++) {
+      var consumerRecord = records.get(i);
+      if (!(consumerRecord.value() instanceof OrderCreatedEvent event)) {
+        log.warn("Skip unsupported order event (offset={}, partition={})",
+            consumerRecord.offset(), consumerRecord.partition());
+        continue;
+      }
+      log.info("Received {}", event);
+      var violations = validator.validate(event);
+      if (violations.isEmpty()) {
+        events.put(i, event);
+      } else {
+        processings.put(i, Mono.error(new ConstraintViolationException(violations)));
+      }
+    }
+    if (events.isEmpty()) {
+      return Mono.just(processings);
+    }
+    return Mono.fromCallable(() -> newEvents(events, groupId))
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(newEvents -> {
+          if (newEvents.isEmpty()) {
+            return Mono.just(processings);
+          }
+          var indexes = List.copyOf(newEvents.keySet());
+          return paymentService.createAll(newEvents.values().stream()
+                  .map(OrderCreatedEvent::getOrder)
+                  .toList())
+              .map(results -> {
+                results.forEach(result -> {
+                  var index = indexes.get(result.index());
+                  processings.put(index, result.payment() != null
+                      ? processPayment(result.payment(), newEvents.get(index), groupId)
+                      : Mono.error(result.error()));
+                });
+                return processings;
+              });
+        })
+        .onErrorResume(e -> {
+          events.keySet().forEach(index -> processings.put(index, Mono.error(e)));
+          return Mono.just(processings);
+        });
+  }
+
+  /**
+   * Drops repeated deliveries of an event within the poll and events that were processed earlier,
+   * the latter are looked up once for the whole poll.
+   */
+  private Map<Integer, OrderCreatedEvent> newEvents(Map<Integer, OrderCreatedEvent> events,
+      String groupId) {
+    var newEvents = new LinkedHashMap<Integer, OrderCreatedEvent>();
+    var eventIds = new HashSet<String>();
+    events.forEach((index, event) -> {
+      if (eventIds.add(event.getEventId().toString())) {
+        newEvents.put(index, event);
+      } else {
+        log.info("Skip OrderCreatedEvent{id={}} (delivered twice within the poll)",
+            event.getEventId());
+      }
+    });
+    var processedEventIds = eventService.findProcessedEvents(groupId, eventIds);
+    newEvents.values().removeIf(event -> {
+      if (!processedEventIds.contains(event.getEventId().toString())) {
+        return false;
+      }
+      log.info("Skip OrderCreatedEvent{id={}} (had already processed earlier)",
+          event.getEventId());
+      return true;
+    });
+    return newEvents;
+  }
+
+  private Mono<Void> processPayment(PaymentDto payment, OrderCreatedEvent event,
+      String groupId) {
+    return Mono.defer(() -> paymentService.processPayment(payment.id()))
+        .then(Mono.fromRunnable(() -> eventService.saveProcessedEvent(groupId,
+                event.getEventId().toString()))
+            .subscribeOn(Schedulers.boundedElastic()))
+        .then();
+  }
+
+  private List<List<Integer>> lanes(List<ConsumerRecord<String, Object>> records) {
+    var lanes = new LinkedHashMap<String, List<Integer>>();
+    for (int i = 0; i < records.size(); i++) {
+      lanes.computeIfAbsent(Objects.requireNonNullElse(records.get(i).key(), ""),
+          _ -> new ArrayList<>()).add(i);
+    }
+    return List.copyOf(lanes.values());
+  }
+
+  /**
+   * Emits the failure of the first record of the lane that was not processed, the rest of the lane
+   * is skipped.
+   */
+  private Mono<Failure> consumeLane(Map<Integer, Mono<Void>> processings, List<Integer> lane) {
+    return Flux.fromIterable(lane)
+        .concatMap(index -> processings.getOrDefault(index, Mono.empty())
+            .then(Mono.<Failure>empty())
+            .onErrorResume(e -> Mono.just(new Failure(index, e))))
+        .next();
+  }
+
+  private record Failure(int index, Throwable cause) {
+
+  }
+
 }
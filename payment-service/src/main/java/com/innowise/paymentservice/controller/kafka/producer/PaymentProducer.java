@@ -4,13 +4,18 @@ import com.innowise.common.model.enums.PaymentStatus;
 import com.innowise.common.model.dto.payment.PaymentDto;
 import com.innowise.common.model.event.PaymentCreatedEvent;
 import com.innowise.common.model.event.PaymentStatusUpdatedEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -22,23 +27,53 @@ public class PaymentProducer {
 
   private final KafkaTemplate<String, String> kafkaTemplate;
 
-  public void sendPaymentCreated(PaymentDto payment) {
-    sendMessage(new PaymentCreatedEvent(payment), String.valueOf(payment.orderId()));
+  public Mono<Void> sendPaymentCreated(PaymentDto payment) {
+    return sendMessage(new PaymentCreatedEvent(payment), String.valueOf(payment.orderId()));
   }
 
-  public void sendPaymentStatusUpdated(String id, Long orderId, PaymentStatus previousStatus,
+  /**
+   * Hands every event to the producer before waiting for any acknowledgement, so the records leave
+   * in as few produce requests as the producer batching allows. Completes once all of them are
+   * acknowledged.
+   */
+  public Mono<Void> sendPaymentsCreated(List<PaymentDto> payments) {
+    if (payments.isEmpty()) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(() -> payments.stream()
+            .map(payment -> kafkaTemplate.send(message(new PaymentCreatedEvent(payment),
+                String.valueOf(payment.orderId()))))
+            .toArray(CompletableFuture[]::new))
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(futures -> Mono.fromFuture(CompletableFuture.allOf(futures)))
+        .doOnSuccess(_ -> log.info("{} PaymentCreatedEvents sent to topic: {}", payments.size(),
+            TOPIC));
+  }
+
+  public Mono<Void> sendPaymentStatusUpdated(String id, Long orderId, PaymentStatus previousStatus,
       PaymentStatus newStatus) {
-    sendMessage(new PaymentStatusUpdatedEvent(id, orderId, previousStatus, newStatus), String.valueOf(orderId));
+    return sendMessage(new PaymentStatusUpdatedEvent(id, orderId, previousStatus, newStatus), String.valueOf(orderId));
+  }
+
+  /**
+   * Completes once the broker acknowledged the record. The send itself is started on the
+   * bounded-elastic scheduler since the producer may block while fetching metadata or when its
+   * buffer is full.
+   */
+  private <T> Mono<Void> sendMessage(T payload, String key) {
+    return Mono.fromFuture(() -> kafkaTemplate.send(message(payload, key)))
+        .subscribeOn(Schedulers.boundedElastic())
+        .doOnSuccess(_ -> log.info("{} (Event={}) sent to topic: {}",
+            payload.getClass().getSimpleName(), payload, TOPIC))
+        .then();
   }
 
-  private <T> void sendMessage(T payload, String key) {
-    kafkaTemplate.send(MessageBuilder
+  private <T> Message<T> message(T payload, String key) {
+    return MessageBuilder
         .withPayload(payload)
         .setHeader(KafkaHeaders.TOPIC, TOPIC)
         .setHeader(KafkaHeaders.KEY, key)
-        .build()
-    );
-    log.info("{} (Event={}) sent to topic: {}", payload.getClass().getSimpleName(), payload, TOPIC);
+        .build();
   }
 
 }
@@ -0,0 +1,50 @@
+package com.innowise.paymentservice.controller.rest;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.paymentservice.model.dto.RevenueDto;
+import com.innowise.paymentservice.model.dto.RevenueSpecsDto;
+import com.innowise.paymentservice.model.enums.RevenueBucket;
+import com.innowise.paymentservice.service.PaymentService;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+@NullMarked
+@RestController
+@RequestMapping("/api/v1/payments")
+public class PaymentController {
+
+  private final PaymentService paymentService;
+
+  @GetMapping("/revenue")
+  public Flux<RevenueDto> findRevenue(
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+      @RequestParam(required = false) Long userId,
+      @RequestParam(required = false) RevenueBucket bucket,
+      @RequestParam(required = false) PaymentStatus status
+  ) {
+    if (!from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+    }
+    return paymentService.findRevenue(RevenueSpecsDto.builder()
+        .from(from)
+        .to(to)
+        .userId(userId)
+        .bucket(bucket)
+        .status(status)
+        .build()
+    );
+  }
+
+}
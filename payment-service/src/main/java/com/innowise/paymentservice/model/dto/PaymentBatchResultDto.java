@@ -0,0 +1,26 @@
+package com.innowise.paymentservice.model.dto;
+
+import com.innowise.common.model.dto.payment.PaymentDto;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of one order of a batch creation, {@code index} refers to its position in the batch.
+ * Exactly one of {@code payment} and {@code error} is set.
+ */
+@NullMarked
+public record PaymentBatchResultDto(
+    int index,
+    @Nullable PaymentDto payment,
+    @Nullable Throwable error
+) {
+
+  public static PaymentBatchResultDto created(int index, PaymentDto payment) {
+    return new PaymentBatchResultDto(index, payment, null);
+  }
+
+  public static PaymentBatchResultDto rejected(int index, Throwable error) {
+    return new PaymentBatchResultDto(index, null, error);
+  }
+
+}
@@ -0,0 +1,15 @@
+package com.innowise.paymentservice.model.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.Builder;
+
+@Builder
+public record RevenueDto(
+    Long userId,
+    Instant bucket,
+    BigDecimal total,
+    long count
+) {
+
+}
@@ -0,0 +1,33 @@
+package com.innowise.paymentservice.model.dto;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.paymentservice.model.enums.RevenueBucket;
+import java.time.Instant;
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Selects the payments with {@code from <= timestamp < to}, optionally of a single user, whose
+ * amounts are summed per user and {@link #bucket}. Only succeeded payments count unless
+ * {@link #status} says otherwise.
+ */
+@NullMarked
+@Builder
+public record RevenueSpecsDto(
+    Instant from,
+    Instant to,
+    @Nullable Long userId,
+    @Nullable RevenueBucket bucket,
+    @Nullable PaymentStatus status
+) {
+
+  public RevenueBucket resolveBucket() {
+    return bucket == null ? RevenueBucket.DAY : bucket;
+  }
+
+  public PaymentStatus resolveStatus() {
+    return status == null ? PaymentStatus.SUCCEEDED : status;
+  }
+
+}
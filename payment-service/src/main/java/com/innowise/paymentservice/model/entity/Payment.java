@@ -33,7 +33,7 @@ public class Payment {
   @Field(targetType = FieldType.TIMESTAMP)
   private final Instant timestamp;
 
-  @Field(value = "payment_amount", targetType = FieldType.STRING)
+  @Field(value = "payment_amount", targetType = FieldType.DECIMAL128)
   private final BigDecimal amount;
 
 }
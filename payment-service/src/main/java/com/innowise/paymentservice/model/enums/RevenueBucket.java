@@ -0,0 +1,16 @@
+package com.innowise.paymentservice.model.enums;
+
+/**
+ * Width of the time buckets revenue is grouped by, named after the {@code $dateTrunc} units.
+ */
+public enum RevenueBucket {
+  HOUR,
+  DAY,
+  WEEK,
+  MONTH,
+  YEAR;
+
+  public String unit() {
+    return name().toLowerCase();
+  }
+}
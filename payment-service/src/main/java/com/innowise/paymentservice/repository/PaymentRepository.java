@@ -1,10 +1,18 @@
 package com.innowise.paymentservice.repository;
 
 import com.innowise.paymentservice.model.entity.Payment;
+import java.util.Collection;
 import org.jspecify.annotations.NullMarked;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @NullMarked
-public interface PaymentRepository extends MongoRepository<Payment, String> {
+public interface PaymentRepository extends ReactiveMongoRepository<Payment, String>,
+    PaymentRepositoryCustom {
+
+  Mono<Payment> findByOrderId(Long orderId);
+
+  Flux<Payment> findAllByOrderIdIn(Collection<Long> orderIds);
 
 }
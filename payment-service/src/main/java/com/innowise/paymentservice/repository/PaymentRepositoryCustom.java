@@ -0,0 +1,79 @@
+package com.innowise.paymentservice.repository;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.paymentservice.model.dto.RevenueDto;
+import com.innowise.paymentservice.model.dto.RevenueSpecsDto;
+import com.innowise.paymentservice.model.entity.Payment;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.dao.DataAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single round trip writes of {@link Payment} that are safe against concurrent and repeated
+ * processing of the same order.
+ */
+@NullMarked
+public interface PaymentRepositoryCustom {
+
+  /**
+   * Inserts the payment unless the order already has one.
+   *
+   * @param payment payment without id
+   * @return the inserted payment with its id, or empty when a payment of the order exists
+   */
+  Mono<Payment> insertIfAbsent(Payment payment);
+
+  /**
+   * Inserts the payments with a single unordered bulk write, so a rejected payment does not stop
+   * the rest of them.
+   *
+   * @param payments payments without id
+   * @return the payments with their ids and the errors of the ones that were not inserted
+   */
+  Mono<BulkInsertResult> insertAll(List<Payment> payments);
+
+  /**
+   * Atomically changes the status of the payment if it still has the expected one. Moving to
+   * {@link PaymentStatus#PROCESSING} also records when the processing started.
+   *
+   * @param id payment id
+   * @param expectedStatus status the payment must currently have
+   * @param newStatus status to set
+   * @return the updated payment, or empty when the transition was rejected
+   */
+  Mono<Payment> transitionStatus(String id, PaymentStatus expectedStatus,
+      PaymentStatus newStatus);
+
+  /**
+   * Payments still {@link PaymentStatus#PROCESSING} whose processing started before the given
+   * instant, including the ones moved there before the start was recorded.
+   */
+  Flux<Payment> findProcessingStartedBefore(Instant startedBefore);
+
+  /**
+   * Sums amounts and counts payments per user and time bucket inside Mongo.
+   *
+   * @param specs payments to include and the bucket width
+   * @return totals ordered by bucket and user
+   */
+  Flux<RevenueDto> aggregateRevenue(RevenueSpecsDto specs);
+
+  /**
+   * Outcome of {@link #insertAll(List)}, {@code payments} keeps the positions of the given list
+   * and {@code errors} maps the position of every payment that was not inserted to its error. A
+   * payment of an order that already has one is rejected with
+   * {@link org.springframework.dao.DuplicateKeyException}.
+   */
+  record BulkInsertResult(List<Payment> payments, Map<Integer, DataAccessException> errors) {
+
+    public boolean isInserted(int index) {
+      return !errors.containsKey(index);
+    }
+
+  }
+
+}
@@ -0,0 +1,192 @@
+package com.innowise.paymentservice.repository.impl;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.paymentservice.model.dto.RevenueDto;
+import com.innowise.paymentservice.model.dto.RevenueSpecsDto;
+import com.innowise.paymentservice.model.entity.Payment;
+import com.innowise.paymentservice.repository.PaymentRepositoryCustom;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@NullMarked
+@RequiredArgsConstructor
+public class PaymentRepositoryCustomImpl implements PaymentRepositoryCustom {
+
+  private static final String ID_FIELD = "_id";
+  private static final String ORDER_ID_FIELD = "orderId";
+  private static final String STATUS_FIELD = "status";
+  private static final String PROCESSING_STARTED_AT_FIELD = "processingStartedAt";
+  private static final String USER_ID_FIELD = "userId";
+  private static final String TIMESTAMP_FIELD = "timestamp";
+  private static final String AMOUNT_FIELD = "payment_amount";
+  private static final String BUCKET_FIELD = "bucket";
+  private static final String TOTAL_FIELD = "total";
+  private static final String COUNT_FIELD = "count";
+  private static final String COLLECTION = "payments";
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+  @Override
+  public Mono<Payment> insertIfAbsent(Payment payment) {
+    // written through the converter, so the fields keep their mapped names and target types
+    var document = new Document();
+    reactiveMongoTemplate.getConverter().write(payment, document);
+    document.remove(ID_FIELD);
+    document.remove(ORDER_ID_FIELD);
+    var update = new Update();
+    document.forEach(update::setOnInsert);
+    return reactiveMongoTemplate.upsert(
+            query(where(ORDER_ID_FIELD).is(payment.getOrderId())),
+            update,
+            Payment.class
+        )
+        .filter(result -> result.getUpsertedId() != null)
+        .map(result -> new Payment(
+            result.getUpsertedId().asObjectId().getValue().toHexString(),
+            payment.getOrderId(),
+            payment.getUserId(),
+            payment.getStatus(),
+            payment.getTimestamp(),
+            payment.getAmount()
+        ))
+        // a concurrent upsert of the same order won the race on the unique index
+        .onErrorResume(DuplicateKeyException.class, _ -> Mono.empty());
+  }
+
+  @Override
+  public Mono<BulkInsertResult> insertAll(List<Payment> payments) {
+    if (payments.isEmpty()) {
+      return Mono.just(new BulkInsertResult(List.of(), Map.of()));
+    }
+    // ids are assigned up front, so every payment can be reported whatever happened to the others
+    var identifiedPayments = payments.stream()
+        .map(payment -> new Payment(
+            new ObjectId().toHexString(),
+            payment.getOrderId(),
+            payment.getUserId(),
+            payment.getStatus(),
+            payment.getTimestamp(),
+            payment.getAmount()
+        ))
+        .toList();
+    var documents = identifiedPayments.stream()
+        .map(payment -> {
+          var document = new Document();
+          reactiveMongoTemplate.getConverter().write(payment, document);
+          return document;
+        })
+        .toList();
+    return reactiveMongoTemplate.getCollection(COLLECTION)
+        .flatMap(collection -> Mono.from(
+            collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+        .map(_ -> new BulkInsertResult(identifiedPayments, Map.of()))
+        // rejected documents are reported per payment, a failure of the whole write is not
+        .onErrorResume(MongoBulkWriteException.class, e -> e.getWriteErrors().isEmpty()
+            ? Mono.error(e)
+            : Mono.just(new BulkInsertResult(identifiedPayments, toErrors(e))));
+  }
+
+  private Map<Integer, DataAccessException> toErrors(MongoBulkWriteException exception) {
+    var errors = new HashMap<Integer, DataAccessException>();
+    for (BulkWriteError error : exception.getWriteErrors()) {
+      var duplicate = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY;
+      errors.put(error.getIndex(), duplicate
+          ? new DuplicateKeyException(error.getMessage())
+          : new DataIntegrityViolationException(error.getMessage()));
+    }
+    return errors;
+  }
+
+  @Override
+  public Mono<Payment> transitionStatus(String id, PaymentStatus expectedStatus,
+      PaymentStatus newStatus) {
+    var update = new Update().set(STATUS_FIELD, newStatus);
+    if (newStatus == PaymentStatus.PROCESSING) {
+      // not mapped to the entity, it only tells stale processings apart from running ones
+      update.set(PROCESSING_STARTED_AT_FIELD, Instant.now());
+    }
+    return reactiveMongoTemplate.findAndModify(
+        query(where(ID_FIELD).is(id).and(STATUS_FIELD).is(expectedStatus)),
+        update,
+        FindAndModifyOptions.options().returnNew(true),
+        Payment.class
+    );
+  }
+
+  @Override
+  public Flux<Payment> findProcessingStartedBefore(Instant startedBefore) {
+    return reactiveMongoTemplate.find(
+        query(where(STATUS_FIELD).is(PaymentStatus.PROCESSING).orOperator(
+            where(PROCESSING_STARTED_AT_FIELD).lt(startedBefore),
+            where(PROCESSING_STARTED_AT_FIELD).exists(false)
+        )),
+        Payment.class
+    );
+  }
+
+  @Override
+  public Flux<RevenueDto> aggregateRevenue(RevenueSpecsDto specs) {
+    // timestamps are stored as BSON timestamps, which never compare equal to dates
+    var criteria = where(STATUS_FIELD).is(specs.resolveStatus())
+        .and(TIMESTAMP_FIELD).gte(toBsonTimestamp(specs.from())).lt(toBsonTimestamp(specs.to()));
+    if (specs.userId() != null) {
+      criteria = criteria.and(USER_ID_FIELD).is(specs.userId());
+    }
+    var bucket = new Document("$dateTrunc", new Document("date", "$" + TIMESTAMP_FIELD)
+        .append("unit", specs.resolveBucket().unit()));
+    AggregationOperation group = _ -> new Document("$group",
+        new Document(ID_FIELD, new Document(USER_ID_FIELD, "$" + USER_ID_FIELD)
+            .append(BUCKET_FIELD, bucket))
+            .append(TOTAL_FIELD, new Document("$sum", "$" + AMOUNT_FIELD))
+            .append(COUNT_FIELD, new Document("$sum", 1))
+    );
+    AggregationOperation sort = _ -> new Document("$sort",
+        new Document(ID_FIELD + "." + BUCKET_FIELD, 1).append(ID_FIELD + "." + USER_ID_FIELD, 1));
+    return reactiveMongoTemplate.aggregate(
+            Aggregation.newAggregation(Aggregation.match(criteria), group, sort),
+            COLLECTION,
+            Document.class
+        )
+        .map(this::toRevenueDto);
+  }
+
+  private RevenueDto toRevenueDto(Document document) {
+    var id = document.get(ID_FIELD, Document.class);
+    return RevenueDto.builder()
+        .userId(id.getLong(USER_ID_FIELD))
+        .bucket(id.getDate(BUCKET_FIELD).toInstant())
+        .total(document.get(TOTAL_FIELD, Decimal128.class).bigDecimalValue())
+        .count(document.get(COUNT_FIELD, Number.class).longValue())
+        .build();
+  }
+
+  private BsonTimestamp toBsonTimestamp(Instant instant) {
+    return new BsonTimestamp(Math.toIntExact(instant.getEpochSecond()), 0);
+  }
+
+}
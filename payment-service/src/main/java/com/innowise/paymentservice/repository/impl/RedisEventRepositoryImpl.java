@@ -1,26 +1,204 @@
 package com.innowise.paymentservice.repository.impl;
 
+import com.innowise.common.util.BloomFilter;
+import com.innowise.paymentservice.config.IdempotencyConfig;
 import com.innowise.paymentservice.repository.EventRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.LongStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Stores processed event ids in Redis sets keyed by consumer group and time bucket
+ * ({@code <group>:<bucket>}), each expiring after the configured retention.
+ * <p>
+ * Every bucket has a local Bloom filter, lazily warmed up from its Redis set. An id no filter
+ * might contain has never been processed and is answered without touching Redis, so Redis is only
+ * queried for duplicates and Bloom filter false positives.
+ */
 @Slf4j
 @Repository
-@RequiredArgsConstructor
 public class RedisEventRepositoryImpl implements EventRepository {
 
+  private static final String KEY_SEPARATOR = ":";
+  private static final String METRIC_PREFIX = "events.idempotency";
+  private static final String RESULT_TAG = "result";
+  private static final int SCAN_COUNT = 1_000;
+
   private final RedisTemplate<String, String> redisTemplate;
+  private final IdempotencyConfig idempotencyConfig;
+  private final Map<String, ConcurrentNavigableMap<Long, BloomFilter>> filters =
+      new ConcurrentHashMap<>();
+
+  private final Counter bloomMisses;
+  private final Counter duplicates;
+  private final Counter falsePositives;
+
+  public RedisEventRepositoryImpl(RedisTemplate<String, String> redisTemplate,
+      IdempotencyConfig idempotencyConfig, MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.idempotencyConfig = idempotencyConfig;
+    this.bloomMisses = checksCounter(meterRegistry, "bloom-miss");
+    this.duplicates = checksCounter(meterRegistry, "duplicate");
+    this.falsePositives = checksCounter(meterRegistry, "false-positive");
+    Gauge.builder(METRIC_PREFIX + ".bloom.hit.ratio", this,
+            RedisEventRepositoryImpl::bloomHitRatio)
+        .description("Share of checks answered by the Bloom filter without querying Redis")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".bloom.false.positive.ratio", this,
+            RedisEventRepositoryImpl::falsePositiveRatio)
+        .description("Share of unseen events the Bloom filter reported as possibly processed")
+        .register(meterRegistry);
+  }
 
   @Override
   public boolean isEventProcessed(String consumerGroupId, String eventId) {
-    return redisTemplate.opsForSet().isMember(consumerGroupId, eventId);
+    var processed = false;
+    var queried = false;
+    for (var bucket : liveBuckets()) {
+      if (filter(consumerGroupId, bucket).mightContain(eventId)) {
+        queried = true;
+        if (Boolean.TRUE.equals(
+            redisTemplate.opsForSet().isMember(key(consumerGroupId, bucket), eventId))) {
+          processed = true;
+          break;
+        }
+      }
+    }
+    record(queried, processed);
+    return processed;
   }
 
   @Override
   public void saveProcessedEvent(String consumerGroupId, String eventId) {
-    redisTemplate.opsForSet().add(consumerGroupId, eventId);
+    var bucket = currentBucket();
+    var key = key(consumerGroupId, bucket);
+    redisTemplate.opsForSet().add(key, eventId);
+    redisTemplate.expire(key, idempotencyConfig.getRetention().plus(idempotencyConfig.getBucket()));
+    // the filter is resolved only after the write so that a concurrent warm-up cannot miss it
+    filter(consumerGroupId, bucket).put(eventId);
+  }
+
+  @Override
+  public Set<String> findProcessedEvents(String consumerGroupId, Collection<String> eventIds) {
+    var processed = new HashSet<String>();
+    var queried = new HashSet<String>();
+    for (var bucket : liveBuckets()) {
+      var filter = filter(consumerGroupId, bucket);
+      var candidates = eventIds.stream()
+          .filter(eventId -> !processed.contains(eventId))
+          .filter(filter::mightContain)
+          .toList();
+      if (candidates.isEmpty()) {
+        continue;
+      }
+      queried.addAll(candidates);
+      var membership = redisTemplate.opsForSet()
+          .isMember(key(consumerGroupId, bucket), candidates.toArray());
+      if (membership != null) {
+        membership.forEach((eventId, member) -> {
+          if (Boolean.TRUE.equals(member)) {
+            processed.add((String) eventId);
+          }
+        });
+      }
+    }
+    bloomMisses.increment(eventIds.size() - (double) queried.size());
+    duplicates.increment(processed.size());
+    falsePositives.increment(queried.size() - (double) processed.size());
+    return processed;
+  }
+
+  @Override
+  public void resetFilters(String consumerGroupId) {
+    filters.remove(consumerGroupId);
+  }
+
+  private BloomFilter filter(String consumerGroupId, long bucket) {
+    var groupFilters = filters.computeIfAbsent(consumerGroupId,
+        _ -> new ConcurrentSkipListMap<>());
+    groupFilters.headMap(oldestLiveBucket()).clear();
+    return groupFilters.computeIfAbsent(bucket, _ -> warmUp(consumerGroupId, bucket));
+  }
+
+  private BloomFilter warmUp(String consumerGroupId, long bucket) {
+    var filter = BloomFilter.create(idempotencyConfig.getExpectedInsertions(),
+        idempotencyConfig.getFalsePositiveProbability());
+    var key = key(consumerGroupId, bucket);
+    var loaded = 0;
+    try (Cursor<String> cursor = redisTemplate.opsForSet()
+        .scan(key, ScanOptions.scanOptions().count(SCAN_COUNT).build())) {
+      while (cursor.hasNext()) {
+        filter.put(cursor.next());
+        loaded++;
+      }
+    }
+    log.debug("Warmed up Bloom filter of {} with {} events", key, loaded);
+    return filter;
+  }
+
+  private void record(boolean queried, boolean processed) {
+    if (!queried) {
+      bloomMisses.increment();
+    } else if (processed) {
+      duplicates.increment();
+    } else {
+      falsePositives.increment();
+    }
+  }
+
+  /**
+   * Buckets whose keys may still exist in Redis, newest first.
+   */
+  private List<Long> liveBuckets() {
+    var currentBucket = currentBucket();
+    return LongStream.rangeClosed(0, currentBucket - oldestLiveBucket())
+        .mapToObj(offset -> currentBucket - offset)
+        .toList();
+  }
+
+  private long currentBucket() {
+    return System.currentTimeMillis() / idempotencyConfig.getBucket().toMillis();
+  }
+
+  private long oldestLiveBucket() {
+    var bucketMillis = idempotencyConfig.getBucket().toMillis();
+    var retentionMillis = idempotencyConfig.getRetention().toMillis();
+    return currentBucket() - (retentionMillis + bucketMillis - 1) / bucketMillis;
+  }
+
+  private double bloomHitRatio() {
+    var total = bloomMisses.count() + duplicates.count() + falsePositives.count();
+    return total == 0 ? 0 : bloomMisses.count() / total;
+  }
+
+  private double falsePositiveRatio() {
+    var unseen = bloomMisses.count() + falsePositives.count();
+    return unseen == 0 ? 0 : falsePositives.count() / unseen;
+  }
+
+  private static String key(String consumerGroupId, long bucket) {
+    return consumerGroupId + KEY_SEPARATOR + bucket;
+  }
+
+  private static Counter checksCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder(METRIC_PREFIX + ".checks")
+        .description("Processed event checks by outcome")
+        .tag(RESULT_TAG, result)
+        .register(meterRegistry);
   }
 
 }
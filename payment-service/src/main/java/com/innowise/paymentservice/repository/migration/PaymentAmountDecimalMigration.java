@@ -0,0 +1,78 @@
+package com.innowise.paymentservice.repository.migration;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.mongodb.database.MongoLiquibaseDatabase;
+import liquibase.resource.ResourceAccessor;
+import lombok.Setter;
+import org.bson.BsonType;
+import org.bson.Document;
+
+/**
+ * Converts string payment amounts to Decimal128 in batches of {@link #batchSize} documents. Only
+ * documents still holding a string are selected, so an interrupted run continues where it stopped.
+ */
+@Setter
+public class PaymentAmountDecimalMigration implements CustomTaskChange {
+
+  private static final String COLLECTION = "payments";
+  private static final String AMOUNT_FIELD = "payment_amount";
+  private static final String ID_FIELD = "_id";
+
+  private int batchSize = 1_000;
+  private long converted;
+
+  @Override
+  public void execute(Database database) {
+    var payments = ((MongoLiquibaseDatabase) database).getMongoDatabase()
+        .getCollection(COLLECTION);
+    var notConverted = Filters.type(AMOUNT_FIELD, BsonType.STRING);
+    var conversion = List.of(
+        Updates.set(AMOUNT_FIELD, new Document("$toDecimal", "$" + AMOUNT_FIELD))
+    );
+    List<Object> ids;
+    do {
+      ids = payments.find(notConverted)
+          .projection(Projections.include(ID_FIELD))
+          .limit(batchSize)
+          .map(document -> document.get(ID_FIELD))
+          .into(new ArrayList<>());
+      if (!ids.isEmpty()) {
+        converted += payments
+            .updateMany(Filters.and(Filters.in(ID_FIELD, ids), notConverted), conversion)
+            .getModifiedCount();
+      }
+    } while (ids.size() == batchSize);
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Converted %d payment amounts to Decimal128".formatted(converted);
+  }
+
+  @Override
+  public void setUp() {
+    // nothing to set up
+  }
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {
+    // no resources are read
+  }
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    var errors = new ValidationErrors();
+    if (batchSize < 1) {
+      errors.addError("batchSize must be positive");
+    }
+    return errors;
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.innowise.paymentservice.repository.migration;
+
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.database.Database;
+import liquibase.exception.CustomPreconditionFailedException;
+import liquibase.ext.mongodb.database.MongoLiquibaseDatabase;
+import liquibase.precondition.CustomPrecondition;
+
+/**
+ * Fails the unique index on the order id while several payments exist for one order. Which of them
+ * is the valid one depends on their statuses and on what was charged, so they are reported for a
+ * manual clean-up instead of being removed here.
+ */
+public class PaymentOrderIdUniquePrecondition implements CustomPrecondition {
+
+  private static final String COLLECTION = "payments";
+  private static final String ORDER_ID_FIELD = "orderId";
+  private static final int REPORTED_ORDERS = 20;
+
+  @Override
+  public void check(Database database) throws CustomPreconditionFailedException {
+    var duplicatedOrderIds = ((MongoLiquibaseDatabase) database).getMongoDatabase()
+        .getCollection(COLLECTION)
+        .aggregate(List.of(
+            Aggregates.group("$" + ORDER_ID_FIELD, Accumulators.sum("count", 1)),
+            Aggregates.match(Filters.gt("count", 1)),
+            Aggregates.limit(REPORTED_ORDERS)
+        ))
+        .map(document -> document.get("_id"))
+        .into(new ArrayList<>());
+    if (!duplicatedOrderIds.isEmpty()) {
+      throw new CustomPreconditionFailedException(("Orders %s (at most %d shown) have more than "
+          + "one payment, keep one payment per order before the order_id_unique index is created")
+          .formatted(duplicatedOrderIds, REPORTED_ORDERS));
+    }
+  }
+
+}
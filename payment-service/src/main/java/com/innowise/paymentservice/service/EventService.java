@@ -1,9 +1,16 @@
 package com.innowise.paymentservice.service;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface EventService {
 
   boolean isEventProcessed(String consumerGroupId, String eventId);
 
   void saveProcessedEvent(String consumerGroupId, String eventId);
 
+  Set<String> findProcessedEvents(String consumerGroupId, Collection<String> eventIds);
+
+  void resetFilters(String consumerGroupId);
+
 }
@@ -3,11 +3,44 @@ package com.innowise.paymentservice.service;
 
 import com.innowise.common.model.dto.order.OrderDto;
 import com.innowise.common.model.dto.payment.PaymentDto;
+import com.innowise.paymentservice.model.dto.PaymentBatchResultDto;
+import com.innowise.paymentservice.model.dto.RevenueDto;
+import com.innowise.paymentservice.model.dto.RevenueSpecsDto;
+import java.time.Instant;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface PaymentService {
 
-  PaymentDto create(OrderDto orderDto);
+  Mono<PaymentDto> create(OrderDto orderDto);
 
-  void processPayment(String id);
+  /**
+   * Creates the payments of the orders with a single bulk insert and publishes their created events
+   * as one batch. An order that already has a payment gets the existing one, like with
+   * {@link #create(OrderDto)}.
+   *
+   * @return outcome of every order, at its position in the given list
+   */
+  Mono<List<PaymentBatchResultDto>> createAll(List<OrderDto> orderDtos);
+
+  /**
+   * Charges the payment and completes once its final status is saved and published.
+   */
+  Mono<PaymentDto> processPayment(String id);
+
+  /**
+   * Fails the payments left {@code PROCESSING} since before the given instant, e.g. by a crash
+   * between charging and saving the outcome. They are not charged again since the outcome of the
+   * lost charge is unknown. Every change is published like a regular one.
+   *
+   * @return the failed payments
+   */
+  Flux<PaymentDto> failStaleProcessing(Instant startedBefore);
+
+  /**
+   * Totals and counts of payments per user and time bucket, computed by the database.
+   */
+  Flux<RevenueDto> findRevenue(RevenueSpecsDto specs);
 
 }
@@ -0,0 +1,40 @@
+package com.innowise.paymentservice.service;
+
+import com.innowise.paymentservice.config.ProcessingRecoveryConfig;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails payments whose processing outlived its lease. A redelivered order event skips a payment
+ * that is not pending anymore, so without this one stuck in processing would never finish.
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class StalePaymentSweeper {
+
+  private final PaymentService paymentService;
+  private final ProcessingRecoveryConfig processingRecoveryConfig;
+
+  @Scheduled(fixedDelayString = "${payments.processing-recovery.interval:1m}",
+      initialDelayString = "${payments.processing-recovery.interval:1m}")
+  public void sweep() {
+    try {
+      var failed = paymentService.failStaleProcessing(
+              Instant.now().minus(processingRecoveryConfig.getLease()))
+          .count()
+          .block();
+      if (failed != null && failed > 0) {
+        log.info("Failed {} payments stuck in processing", failed);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Stale payment sweep failed, retrying on the next run: {}", e.getMessage(), e);
+    }
+  }
+
+}
@@ -3,10 +3,24 @@ package com.innowise.paymentservice.service.client;
 
 import com.innowise.common.exception.ExternalApiException;
 import com.innowise.common.model.enums.PaymentStatus;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
-import java.util.Map;
+import com.innowise.paymentservice.config.StripeClientConfig;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatusCode;
@@ -15,37 +29,121 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-@CircuitBreaker(name = "stripe-client", fallbackMethod = "processPaymentFallback")
-@TimeLimiter(name = "stripe-client")
-@Retry(name = "stripe-client")
+/**
+ * Decides payments by random values of the stripe stub. Every remote call, a single value as well
+ * as a refill of the buffer, goes through the {@value #RESILIENCE_NAME} circuit breaker, retry and
+ * time limiter, in the order their annotations would apply. Values served from the buffer are not
+ * calls and are not recorded, they are only refused while the circuit breaker is open.
+ */
 @Slf4j
 @Component
 public class StripeClient {
 
+  private static final String RESILIENCE_NAME = "stripe-client";
+
   private final WebClient webClient;
+  private final StripeClientConfig stripeClientConfig;
+  private final CircuitBreaker circuitBreaker;
+  private final Retry retry;
+  private final TimeLimiter timeLimiter;
+
+  /**
+   * Prefetched values, {@link #buffered} tracks their number since the queue size is not constant
+   * time.
+   */
+  private final Queue<Integer> buffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger buffered = new AtomicInteger();
+  private final AtomicBoolean refilling = new AtomicBoolean();
 
   public StripeClient(WebClient.Builder webClientBuilder,
-      @Value("${services.stipe.url}") String stipeUrl) {
+      @Value("${services.stipe.url}") String stipeUrl,
+      StripeClientConfig stripeClientConfig,
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      RetryRegistry retryRegistry,
+      TimeLimiterRegistry timeLimiterRegistry) {
     this.webClient = webClientBuilder.baseUrl(stipeUrl).build();
+    this.stripeClientConfig = stripeClientConfig;
+    this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_NAME);
+    this.retry = retryRegistry.retry(RESILIENCE_NAME);
+    this.timeLimiter = timeLimiterRegistry.timeLimiter(RESILIENCE_NAME);
   }
 
+  /**
+   * Decides the payment by a prefetched value when there is one and falls back to fetching a
+   * single value otherwise. The fallback is a remote call of its own, so while refills keep
+   * failing and the buffer stays empty every payment is recorded by the circuit breaker.
+   */
   public Mono<PaymentStatus> processPayment() {
+    return Mono.defer(() -> {
+          if (!stripeClientConfig.isEnabled()) {
+            return fetchOne();
+          }
+          if (!circuitBreaker.tryAcquirePermission()) {
+            return Mono.error(circuitBreakerOpened());
+          }
+          // the permission only checks the state, a buffered value is not a call to record
+          circuitBreaker.releasePermission();
+          var value = buffer.poll();
+          var left = value == null ? 0 : buffered.decrementAndGet();
+          if (left < stripeClientConfig.getLowWatermark()) {
+            refill();
+          }
+          return value == null ? fetchOne() : Mono.just(value);
+        })
+        .map(value -> value % 2 == 0 ? PaymentStatus.SUCCEEDED : PaymentStatus.FAILED);
+  }
+
+  private void refill() {
+    if (!refilling.compareAndSet(false, true)) {
+      return;
+    }
+    guarded(fetch(stripeClientConfig.getBatchSize()))
+        .doFinally(_ -> refilling.set(false))
+        .subscribe(
+            values -> {
+              buffer.addAll(values);
+              buffered.addAndGet(values.size());
+              log.debug("Prefetched {} random values", values.size());
+            },
+            thr -> log.warn("Failed to prefetch random values: {}", thr.getMessage())
+        );
+  }
+
+  private Mono<Integer> fetchOne() {
+    return guarded(fetch(1)).map(List::getFirst);
+  }
+
+  private <T> Mono<T> guarded(Mono<T> call) {
+    return call
+        .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .transformDeferred(RetryOperator.of(retry))
+        .onErrorMap(CallNotPermittedException.class, _ -> circuitBreakerOpened());
+  }
+
+  private Mono<List<Integer>> fetch(int count) {
     return webClient
         .get()
-        .uri("api/v1.0/random", Map.of("min", Integer.MIN_VALUE, "max", Integer.MAX_VALUE))
+        .uri(uriBuilder -> uriBuilder
+            .path("/api/v1.0/random")
+            .queryParam("min", Integer.MIN_VALUE)
+            .queryParam("max", Integer.MAX_VALUE)
+            .queryParam("count", count)
+            .build())
         .retrieve()
         .onStatus(
             HttpStatusCode::isError,
             ClientResponse::createError
         )
         .bodyToMono(Integer[].class)
-        .<PaymentStatus>handle((arr, sink) -> {
-          if (arr == null || arr.length == 0 || arr[0] == null) {
+        .<List<Integer>>handle((arr, sink) -> {
+          var values = arr == null ? List.<Integer>of()
+              : Arrays.stream(arr).filter(Objects::nonNull).toList();
+          if (values.isEmpty()) {
             sink.error(new ExternalApiException("Illegal received array value from stripe"));
             return;
           }
-          var payment = arr[0] % 2 == 0 ? PaymentStatus.SUCCEEDED : PaymentStatus.FAILED;
-          sink.next(payment);
+          sink.next(values);
         })
         .onErrorMap(thr -> {
           log.error(thr.getMessage(), thr.getCause());
@@ -53,8 +151,8 @@ public class StripeClient {
         });
   }
 
-  private PaymentStatus processPaymentFallback() {
-    throw new ExternalApiException("Skipping request due to the circuit breaker opened");
+  private static ExternalApiException circuitBreakerOpened() {
+    return new ExternalApiException("Skipping request due to the circuit breaker opened");
   }
 
 }
@@ -5,17 +5,29 @@ import com.innowise.common.model.dto.order.OrderDto;
 import com.innowise.common.model.dto.payment.PaymentDto;
 import com.innowise.common.model.enums.PaymentStatus;
 import com.innowise.paymentservice.controller.kafka.producer.PaymentProducer;
+import com.innowise.paymentservice.model.dto.PaymentBatchResultDto;
+import com.innowise.paymentservice.model.dto.RevenueDto;
+import com.innowise.paymentservice.model.dto.RevenueSpecsDto;
 import com.innowise.paymentservice.model.entity.Payment;
 import com.innowise.paymentservice.model.mapper.PaymentMapper;
 import com.innowise.paymentservice.repository.PaymentRepository;
+import com.innowise.paymentservice.repository.PaymentRepositoryCustom.BulkInsertResult;
 import com.innowise.paymentservice.service.PaymentService;
 import com.innowise.paymentservice.service.client.StripeClient;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @NullMarked
 @Service
@@ -29,19 +41,84 @@ public class PaymentServiceImpl implements PaymentService {
   private final PaymentProducer paymentProducer;
 
   @Override
-  public PaymentDto create(OrderDto orderDto) {
-    var paymentDto = PaymentDto.builder()
+  public Mono<PaymentDto> create(OrderDto orderDto) {
+    return paymentRepository.insertIfAbsent(paymentMapper.toEntity(toPendingPayment(orderDto)))
+        .map(paymentMapper::toDto)
+        .doOnNext(savedPaymentDto -> log.info("{} created", savedPaymentDto))
+        .flatMap(savedPaymentDto -> paymentProducer.sendPaymentCreated(savedPaymentDto)
+            .thenReturn(savedPaymentDto))
+        .switchIfEmpty(Mono.defer(() -> paymentRepository.findByOrderId(orderDto.id())
+            .doOnNext(payment -> log.info("Payment{id={}} of Order{id={}} already exists",
+                payment.getId(), orderDto.id()))
+            .map(paymentMapper::toDto)));
+  }
+
+  @Override
+  public Mono<List<PaymentBatchResultDto>> createAll(List<OrderDto> orderDtos) {
+    if (orderDtos.isEmpty()) {
+      return Mono.just(List.of());
+    }
+    return paymentRepository.insertAll(orderDtos.stream()
+            .map(orderDto -> paymentMapper.toEntity(toPendingPayment(orderDto)))
+            .toList())
+        .flatMap(result -> {
+          var createdPaymentDtos = new ArrayList<PaymentDto>(orderDtos.size());
+          for (int i = 0; i < orderDtos.size(); i++) {
+            if (result.isInserted(i)) {
+              createdPaymentDtos.add(paymentMapper.toDto(result.payments().get(i)));
+            }
+          }
+          log.info("{} of {} Payments created in batch", createdPaymentDtos.size(),
+              orderDtos.size());
+          return paymentProducer.sendPaymentsCreated(createdPaymentDtos)
+              .then(findDuplicates(result))
+              .map(existingPayments -> toBatchResults(result, existingPayments));
+        });
+  }
+
+  /**
+   * Payments that already existed for the orders whose insert was rejected as a duplicate, keyed
+   * by order id.
+   */
+  private Mono<Map<Long, Payment>> findDuplicates(BulkInsertResult result) {
+    var orderIds = result.errors().entrySet().stream()
+        .filter(error -> error.getValue() instanceof DuplicateKeyException)
+        .map(error -> result.payments().get(error.getKey()).getOrderId())
+        .collect(Collectors.toSet());
+    if (orderIds.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    return paymentRepository.findAllByOrderIdIn(orderIds)
+        .collectMap(Payment::getOrderId, Function.identity());
+  }
+
+  private List<PaymentBatchResultDto> toBatchResults(BulkInsertResult result,
+      Map<Long, Payment> existingPayments) {
+    var results = new ArrayList<PaymentBatchResultDto>(result.payments().size());
+    for (int i = 0; i < result.payments().size(); i++) {
+      var payment = result.payments().get(i);
+      var existingPayment = existingPayments.get(payment.getOrderId());
+      if (result.isInserted(i)) {
+        results.add(PaymentBatchResultDto.created(i, paymentMapper.toDto(payment)));
+      } else if (existingPayment != null) {
+        log.info("Payment{id={}} of Order{id={}} already exists", existingPayment.getId(),
+            payment.getOrderId());
+        results.add(PaymentBatchResultDto.created(i, paymentMapper.toDto(existingPayment)));
+      } else {
+        results.add(PaymentBatchResultDto.rejected(i, result.errors().get(i)));
+      }
+    }
+    return results;
+  }
+
+  private PaymentDto toPendingPayment(OrderDto orderDto) {
+    return PaymentDto.builder()
         .orderId(orderDto.id())
         .userId(orderDto.user().id())
         .amount(calculateOPaymentAmount(orderDto))
         .timestamp(Instant.now())
         .status(PaymentStatus.PENDING)
         .build();
-    var savedPaymentEntity = paymentRepository.save(paymentMapper.toEntity(paymentDto));
-    var savedPaymentDto = paymentMapper.toDto(savedPaymentEntity);
-    log.info("{} created", savedPaymentDto);
-    paymentProducer.sendPaymentCreated(savedPaymentDto);
-    return savedPaymentDto;
   }
 
   private BigDecimal calculateOPaymentAmount(OrderDto orderDto) {
@@ -51,36 +128,59 @@ public class PaymentServiceImpl implements PaymentService {
   }
 
   @Override
-  public void processPayment(String id) {
-    var payment = paymentRepository.findById(id)
-        .orElseThrow(() -> ResourceNotFoundException.byId("Payment", id));
-    log.info("Processing payment{id={}}", payment.getId());
-
-    updatePaymentStatus(payment, PaymentStatus.PROCESSING);
-    stripeClient.processPayment()
-        .subscribe(
-            status -> updatePaymentStatus(payment, status),
-            _ -> {
-              log.info("Due to the exception from stipe fallback to failed for Payment(id={})", payment.getId());
-              updatePaymentStatus(payment, PaymentStatus.FAILED);
-            }
-        );
-
+  public Mono<PaymentDto> processPayment(String id) {
+    return transitionStatus(id, PaymentStatus.PENDING, PaymentStatus.PROCESSING)
+        .flatMap(payment -> stripeClient.processPayment()
+            .onErrorResume(_ -> {
+              log.info("Due to the exception from stipe fallback to failed for Payment(id={})",
+                  payment.getId());
+              return Mono.just(PaymentStatus.FAILED);
+            })
+            .flatMap(status -> transitionStatus(id, PaymentStatus.PROCESSING, status)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                    "Payment{id=%s} left %s while being processed"
+                        .formatted(id, PaymentStatus.PROCESSING))))
+            )
+        )
+        .switchIfEmpty(Mono.defer(() -> paymentRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.byId("Payment", id)))
+            .doOnNext(payment -> log.info("Skip Payment{id={}} processing, its status is {}",
+                id, payment.getStatus()))
+        ))
+        .map(paymentMapper::toDto);
   }
 
-  private void updatePaymentStatus(Payment payment, PaymentStatus newStatus) {
-    var oldStatus = payment.getStatus();
-    payment.setStatus(newStatus);
-    paymentRepository.save(payment);
-    paymentProducer.sendPaymentStatusUpdated(
-        payment.getId(),
-        payment.getOrderId(),
-        oldStatus,
-        newStatus
-    );
+  @Override
+  public Flux<PaymentDto> failStaleProcessing(Instant startedBefore) {
+    return paymentRepository.findProcessingStartedBefore(startedBefore)
+        .doOnNext(payment -> log.warn("Payment{id={}} is stuck in {}, failing it",
+            payment.getId(), PaymentStatus.PROCESSING))
+        // the processing may still finish in between, then the transition is rejected
+        .concatMap(payment -> transitionStatus(payment.getId(), PaymentStatus.PROCESSING,
+            PaymentStatus.FAILED))
+        .map(paymentMapper::toDto);
+  }
 
-    log.info("Payment{id={}} changed status from {} to {}", payment.getId(), oldStatus,
-        newStatus);
+  @Override
+  public Flux<RevenueDto> findRevenue(RevenueSpecsDto specs) {
+    return paymentRepository.aggregateRevenue(specs);
+  }
 
+  /**
+   * Moves the payment from the expected status and publishes the change, completes empty when the
+   * payment does not have the expected status anymore.
+   */
+  private Mono<Payment> transitionStatus(String id, PaymentStatus expectedStatus,
+      PaymentStatus newStatus) {
+    return paymentRepository.transitionStatus(id, expectedStatus, newStatus)
+        .flatMap(payment -> paymentProducer.sendPaymentStatusUpdated(
+                payment.getId(),
+                payment.getOrderId(),
+                expectedStatus,
+                newStatus
+            )
+            .thenReturn(payment))
+        .doOnNext(payment -> log.info("Payment{id={}} changed status from {} to {}",
+            payment.getId(), expectedStatus, newStatus));
   }
 }
@@ -12,7 +12,6 @@ import com.innowise.common.exception.ExternalApiException;
 import com.innowise.common.model.dto.order.OrderDto;
 import com.innowise.common.model.enums.PaymentStatus;
 import com.innowise.common.model.event.OrderCreatedEvent;
-import com.innowise.paymentservice.controller.kafka.consumer.OrderListener;
 import com.innowise.paymentservice.integration.AbstractIntegrationTest;
 import com.innowise.paymentservice.integration.annotation.IT;
 import com.innowise.paymentservice.model.entity.Payment;
@@ -57,7 +56,6 @@ class OrderListenerIT extends AbstractIntegrationTest {
   private final MongoTemplate mongoTemplate;
 
   private final PaymentService paymentService;
-  private final OrderListener orderListener;
 
   @Value("${spring.kafka.topics.orders.name}")
   private String orderTopic;
@@ -92,7 +90,7 @@ class OrderListenerIT extends AbstractIntegrationTest {
           assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
         });
 
-    Mockito.verify(paymentService, Mockito.times(1)).create(Mockito.any());
+    Mockito.verify(paymentService, Mockito.times(1)).createAll(Mockito.any());
   }
 
   @Test
@@ -132,10 +130,42 @@ class OrderListenerIT extends AbstractIntegrationTest {
           assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
         });
 
-    Mockito.verify(paymentService, Mockito.times(1)).create(Mockito.any());
+    Mockito.verify(paymentService, Mockito.times(1)).createAll(Mockito.any());
     Mockito.verify(paymentService, Mockito.times(1)).processPayment(Mockito.any());
   }
 
+  @Test
+  void consumeOrderCreatedEvent_severalOrdersInOnePartition_allProcessed() {
+    var orderDtos = SUT.giveMe(OrderDto.class, 5);
+
+    orderDtos.forEach(orderDto -> kafkaTemplate.send(MessageBuilder
+        .withPayload(new OrderCreatedEvent(orderDto))
+        .setHeader(KafkaHeaders.TOPIC, orderTopic)
+        .setHeader(KafkaHeaders.KEY, orderDto.id().toString())
+        .build()
+    ));
+
+    stripeClientServer.stubFor(
+        get(urlPathTemplate("**"))
+            .willReturn(aResponse()
+                .withStatus(HttpStatus.OK_200)
+                .withHeader(HttpHeader.CONTENT_TYPE.asString(), Type.APPLICATION_JSON.asString())
+                .withBody("[2]")
+            )
+    );
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .pollInterval(Duration.ofMillis(200))
+        .untilAsserted(() -> orderDtos.forEach(orderDto -> {
+          var payment = mongoTemplate.findOne(query(where("orderId").is(orderDto.id())),
+              Payment.class);
+
+          assertThat(payment).isNotNull();
+          assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
+        }));
+  }
+
   @Test
   void consumeOrderCreatedEvent_invalidOrderDto_shouldSendToDLT() {
     var invalidOrderDto = new OrderDto(
@@ -155,8 +185,7 @@ class OrderListenerIT extends AbstractIntegrationTest {
 
     await().during(Duration.ofSeconds(5)).until(() -> true);
 
-    Mockito.verify(orderListener, Mockito.never())
-        .consumeOrderCreatedEvent(Mockito.any(), Mockito.any(), Mockito.any());
+    Mockito.verify(paymentService, Mockito.never()).createAll(Mockito.any());
   }
 
   @Test
@@ -167,7 +196,7 @@ class OrderListenerIT extends AbstractIntegrationTest {
 
     Mockito.doThrow(ExternalApiException.class)
         .when(paymentService)
-        .create(Mockito.any());
+        .createAll(Mockito.any());
 
     kafkaTemplate.send(MessageBuilder
         .withPayload(orderCreatedEvent)
@@ -180,7 +209,7 @@ class OrderListenerIT extends AbstractIntegrationTest {
         .pollInterval(Duration.ofMillis(500))
         .untilAsserted(() -> {
           Mockito.verify(paymentService, Mockito.atLeast(2))
-              .create(Mockito.any());
+              .createAll(Mockito.any());
         });
   }
 
@@ -4,18 +4,24 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathTemplate;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
+import com.innowise.common.exception.ResourceNotFoundException;
 import com.innowise.common.model.dto.order.OrderDto;
+import com.innowise.common.model.dto.payment.PaymentDto;
 import com.innowise.common.model.enums.PaymentStatus;
 import com.innowise.paymentservice.controller.kafka.producer.PaymentProducer;
 import com.innowise.paymentservice.integration.AbstractIntegrationTest;
 import com.innowise.paymentservice.integration.annotation.IT;
+import com.innowise.paymentservice.model.dto.PaymentBatchResultDto;
+import com.innowise.paymentservice.model.dto.RevenueSpecsDto;
 import com.innowise.paymentservice.model.entity.Payment;
+import com.innowise.paymentservice.model.enums.RevenueBucket;
 import com.innowise.paymentservice.repository.PaymentRepository;
 import com.innowise.paymentservice.service.PaymentService;
 import com.navercorp.fixturemonkey.FixtureMonkey;
@@ -23,10 +29,14 @@ import com.navercorp.fixturemonkey.api.introspector.ConstructorPropertiesArbitra
 import com.navercorp.fixturemonkey.api.jqwik.JqwikPlugin;
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import net.jqwik.api.Arbitraries;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import reactor.test.StepVerifier;
 import wiremock.org.eclipse.jetty.http.HttpHeader;
 import wiremock.org.eclipse.jetty.http.HttpStatus;
 import wiremock.org.eclipse.jetty.http.MimeTypes.Type;
@@ -64,11 +74,12 @@ class PaymentServiceIT extends AbstractIntegrationTest {
   void create() {
     var orderDto = SUT.giveMeOne(OrderDto.class);
 
-    var paymentDto = paymentService.create(orderDto);
+    var paymentDto = paymentService.create(orderDto).block();
 
-    verify(paymentRepository).save(any(Payment.class));
+    verify(paymentRepository).insertIfAbsent(any(Payment.class));
     verify(paymentProducer).sendPaymentCreated(paymentDto);
 
+    assertThat(paymentDto).isNotNull();
     assertThat(paymentDto.id()).isNotNull();
     assertThat(paymentDto.userId()).isEqualTo(orderDto.user().id());
     assertThat(paymentDto.orderId()).isEqualTo(orderDto.id());
@@ -77,6 +88,67 @@ class PaymentServiceIT extends AbstractIntegrationTest {
         mongoTemplate.findOne(query(where("_id").in(paymentDto.id())), Payment.class)).isNotNull();
   }
 
+  @Test
+  void create_paymentOfOrderExists_returnExistingPayment() {
+    var orderDto = SUT.giveMeOne(OrderDto.class);
+
+    var paymentDto = paymentService.create(orderDto).block();
+    var duplicatePaymentDto = paymentService.create(orderDto).block();
+
+    assertThat(paymentDto).isNotNull();
+    assertThat(duplicatePaymentDto).isNotNull()
+        .extracting(PaymentDto::id)
+        .isEqualTo(paymentDto.id());
+    verify(paymentProducer, times(1)).sendPaymentCreated(any());
+    assertThat(mongoTemplate.count(query(where("orderId").is(orderDto.id())), Payment.class))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void createAll() {
+    var orderDtos = SUT.giveMe(OrderDto.class, 3);
+
+    var results = paymentService.createAll(orderDtos).block();
+
+    verify(paymentRepository).insertAll(any());
+    verify(paymentProducer).sendPaymentsCreated(any());
+
+    assertThat(results).hasSize(3);
+    for (int i = 0; i < orderDtos.size(); i++) {
+      var result = results.get(i);
+      assertThat(result.index()).isEqualTo(i);
+      assertThat(result.error()).isNull();
+      assertThat(result.payment()).isNotNull();
+      assertThat(result.payment().id()).isNotNull();
+      assertThat(result.payment().orderId()).isEqualTo(orderDtos.get(i).id());
+      assertThat(mongoTemplate.findOne(query(where("_id").is(result.payment().id())),
+          Payment.class)).isNotNull();
+    }
+  }
+
+  @Test
+  void createAll_paymentOfOrderExists_returnExistingPaymentForThatOrder() {
+    var existingOrderDto = SUT.giveMeOne(OrderDto.class);
+    var newOrderDto = SUT.giveMeOne(OrderDto.class);
+    var existingPaymentDto = paymentService.create(existingOrderDto).block();
+
+    var results = paymentService.createAll(List.of(existingOrderDto, newOrderDto)).block();
+
+    assertThat(existingPaymentDto).isNotNull();
+    assertThat(results).hasSize(2)
+        .extracting(PaymentBatchResultDto::error)
+        .containsOnlyNulls();
+    assertThat(results.get(0).payment()).isNotNull()
+        .extracting(PaymentDto::id)
+        .isEqualTo(existingPaymentDto.id());
+    assertThat(results.get(1).payment()).isNotNull()
+        .extracting(PaymentDto::orderId)
+        .isEqualTo(newOrderDto.id());
+    verify(paymentProducer).sendPaymentsCreated(List.of(results.get(1).payment()));
+    assertThat(mongoTemplate.count(query(where("orderId").is(existingOrderDto.id())),
+        Payment.class)).isEqualTo(1);
+  }
+
   @Test
   void processPayment_paymentSuccessful_updateStatusToSucceeded() {
     var payment = mongoTemplate.save(SUT.giveMeOne(Payment.class));
@@ -90,18 +162,15 @@ class PaymentServiceIT extends AbstractIntegrationTest {
             )
     );
 
-    paymentService.processPayment(payment.getId());
+    StepVerifier.create(paymentService.processPayment(payment.getId()))
+        .assertNext(p -> assertThat(p.status()).isEqualTo(PaymentStatus.SUCCEEDED))
+        .verifyComplete();
 
-    await()
-        .atMost(Duration.ofSeconds(5))
-        .pollInterval(Duration.ofMillis(500))
-        .untilAsserted(() -> {
-          assertThat(mongoTemplate.findOne(query(where("_id").in(payment.getId())), Payment.class))
-              .satisfies(
-                  p -> assertThat(p).isNotNull(),
-                  p -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.SUCCEEDED)
-              );
-        });
+    assertThat(mongoTemplate.findOne(query(where("_id").in(payment.getId())), Payment.class))
+        .satisfies(
+            p -> assertThat(p).isNotNull(),
+            p -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.SUCCEEDED)
+        );
 
 
   }
@@ -119,18 +188,15 @@ class PaymentServiceIT extends AbstractIntegrationTest {
             )
     );
 
-    paymentService.processPayment(payment.getId());
-
-    await()
-        .atMost(Duration.ofSeconds(5))
-        .pollInterval(Duration.ofMillis(500))
-        .untilAsserted(() -> {
-          assertThat(mongoTemplate.findOne(query(where("_id").in(payment.getId())), Payment.class))
-              .satisfies(
-                  p -> assertThat(p).isNotNull(),
-                  p -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.FAILED)
-              );
-        });
+    StepVerifier.create(paymentService.processPayment(payment.getId()))
+        .assertNext(p -> assertThat(p.status()).isEqualTo(PaymentStatus.FAILED))
+        .verifyComplete();
+
+    assertThat(mongoTemplate.findOne(query(where("_id").in(payment.getId())), Payment.class))
+        .satisfies(
+            p -> assertThat(p).isNotNull(),
+            p -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.FAILED)
+        );
   }
 
   @Test
@@ -144,18 +210,100 @@ class PaymentServiceIT extends AbstractIntegrationTest {
             )
     );
 
-    paymentService.processPayment(payment.getId());
-
-    await()
-        .atMost(Duration.ofSeconds(5))
-        .pollInterval(Duration.ofMillis(500))
-        .untilAsserted(() -> {
-          assertThat(mongoTemplate.findOne(query(where("_id").in(payment.getId())), Payment.class))
-              .satisfies(
-                  p -> assertThat(p).isNotNull(),
-                  p -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.FAILED)
-              );
-        });
+    StepVerifier.create(paymentService.processPayment(payment.getId()))
+        .assertNext(p -> assertThat(p.status()).isEqualTo(PaymentStatus.FAILED))
+        .verifyComplete();
+
+    assertThat(mongoTemplate.findOne(query(where("_id").in(payment.getId())), Payment.class))
+        .satisfies(
+            p -> assertThat(p).isNotNull(),
+            p -> assertThat(p.getStatus()).isEqualTo(PaymentStatus.FAILED)
+        );
+  }
+
+  @Test
+  void processPayment_paymentNotExists_throwResourceNotFoundException() {
+    StepVerifier.create(paymentService.processPayment(new ObjectId().toHexString()))
+        .expectError(ResourceNotFoundException.class)
+        .verify();
+  }
+
+  @Test
+  void processPayment_paymentNotPending_skipProcessing() {
+    var payment = SUT.giveMeBuilder(Payment.class)
+        .set("status", PaymentStatus.SUCCEEDED)
+        .sample();
+    var savedPayment = mongoTemplate.save(payment);
+
+    StepVerifier.create(paymentService.processPayment(savedPayment.getId()))
+        .assertNext(p -> assertThat(p.status()).isEqualTo(PaymentStatus.SUCCEEDED))
+        .verifyComplete();
+
+    verify(paymentProducer, never()).sendPaymentStatusUpdated(any(), any(), any(), any());
+  }
+
+  @Test
+  void failStaleProcessing_processingOutlivedLease_updateStatusToFailed() {
+    var stalePayment = mongoTemplate.save(SUT.giveMeBuilder(Payment.class)
+        .set("status", PaymentStatus.PROCESSING)
+        .sample());
+    var runningPayment = mongoTemplate.save(SUT.giveMeOne(Payment.class));
+    paymentRepository.transitionStatus(runningPayment.getId(), PaymentStatus.PENDING,
+        PaymentStatus.PROCESSING).block();
+
+    var failedPayments = paymentService.failStaleProcessing(Instant.now().minusSeconds(60))
+        .collectList()
+        .block();
+
+    assertThat(failedPayments)
+        .extracting(PaymentDto::id)
+        .contains(stalePayment.getId())
+        .doesNotContain(runningPayment.getId());
+    assertThat(mongoTemplate.findById(stalePayment.getId(), Payment.class))
+        .extracting(Payment::getStatus)
+        .isEqualTo(PaymentStatus.FAILED);
+    assertThat(mongoTemplate.findById(runningPayment.getId(), Payment.class))
+        .extracting(Payment::getStatus)
+        .isEqualTo(PaymentStatus.PROCESSING);
+    verify(paymentProducer).sendPaymentStatusUpdated(stalePayment.getId(),
+        stalePayment.getOrderId(), PaymentStatus.PROCESSING, PaymentStatus.FAILED);
+  }
+
+
+    var userId = Arbitraries.longs().greaterOrEqual(1L).sample();
+    var day = Instant.parse("2025-01-15T00:00:00Z");
+    mongoTemplate.save(SUT.giveMeBuilder(Payment.class)
+        .set("userId", userId)
+        .set("status", PaymentStatus.SUCCEEDED)
+        .set("timestamp", day.plus(Duration.ofHours(10)))
+        .set("amount", new BigDecimal("10.50"))
+        .sample());
+    mongoTemplate.save(SUT.giveMeBuilder(Payment.class)
+        .set("userId", userId)
+        .set("status", PaymentStatus.SUCCEEDED)
+        .set("timestamp", day.plus(Duration.ofHours(20)))
+        .set("amount", new BigDecimal("4.25"))
+        .sample());
+    mongoTemplate.save(SUT.giveMeBuilder(Payment.class)
+        .set("userId", userId)
+        .set("status", PaymentStatus.FAILED)
+        .set("timestamp", day.plus(Duration.ofHours(12)))
+        .set("amount", new BigDecimal("100"))
+        .sample());
+
+    StepVerifier.create(paymentService.findRevenue(RevenueSpecsDto.builder()
+            .from(day)
+            .to(day.plus(Duration.ofDays(1)))
+            .userId(userId)
+            .bucket(RevenueBucket.DAY)
+            .build()))
+        .assertNext(revenue -> {
+          assertThat(revenue.userId()).isEqualTo(userId);
+          assertThat(revenue.bucket()).isEqualTo(day);
+          assertThat(revenue.total()).isEqualByComparingTo("14.75");
+          assertThat(revenue.count()).isEqualTo(2);
+        })
+        .verifyComplete();
   }
 
 }
@@ -0,0 +1,167 @@
+package com.innowise.paymentservice.service.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.innowise.common.model.enums.PaymentStatus;
+import com.innowise.common.test.extension.EagerWireMockExtension;
+import com.innowise.paymentservice.config.StripeClientConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+class StripeClientTest {
+
+  private static final String RANDOM_PATH = "/api/v1.0/random";
+
+  @RegisterExtension
+  static EagerWireMockExtension stripeServer = EagerWireMockExtension.newInstance()
+      .options(wireMockConfig().dynamicPort())
+      .build();
+
+  @Test
+  void processPayment_prefetchEnabled_serveBatchFetchedOnce() {
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("1"))
+        .willReturn(okJson("[2]")));
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("10"))
+        .willReturn(okJson("[2, 4, 6, 8, 10, 12, 14, 16, 18, 20]")));
+    var stripeClient = stripeClient(true, 10, 1);
+
+    // the buffer starts empty, so the first payment fetches its own value and starts a refill
+    StepVerifier.create(stripeClient.processPayment())
+        .expectNext(PaymentStatus.SUCCEEDED)
+        .verifyComplete();
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> stripeServer.verify(1, getRequestedFor(urlPathEqualTo(RANDOM_PATH))
+            .withQueryParam("count", equalTo("10"))));
+
+    for (int i = 0; i < 9; i++) {
+      StepVerifier.create(stripeClient.processPayment())
+          .expectNext(PaymentStatus.SUCCEEDED)
+          .verifyComplete();
+    }
+
+    stripeServer.verify(1, getRequestedFor(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("1")));
+    stripeServer.verify(1, getRequestedFor(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("10")));
+  }
+
+  @Test
+  void processPayment_prefetchDisabled_fetchValuePerPayment() {
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .willReturn(okJson("[1]")));
+    var stripeClient = stripeClient(false, 10, 1);
+
+    for (int i = 0; i < 3; i++) {
+      StepVerifier.create(stripeClient.processPayment())
+          .expectNext(PaymentStatus.FAILED)
+          .verifyComplete();
+    }
+
+    stripeServer.verify(3, getRequestedFor(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("1")));
+  }
+
+  @Test
+  void processPayment_prefetchEnabled_recordOnlyRemoteCallsInCircuitBreaker() {
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("1"))
+        .willReturn(okJson("[2]")));
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("10"))
+        .willReturn(okJson("[2, 4, 6, 8, 10, 12, 14, 16, 18, 20]")));
+    var circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    var stripeClient = stripeClient(true, 10, 1, circuitBreakerRegistry);
+    var metrics = circuitBreakerRegistry.circuitBreaker("stripe-client").getMetrics();
+
+    StepVerifier.create(stripeClient.processPayment())
+        .expectNext(PaymentStatus.SUCCEEDED)
+        .verifyComplete();
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> assertThat(metrics.getNumberOfSuccessfulCalls()).isEqualTo(2));
+
+    for (int i = 0; i < 5; i++) {
+      StepVerifier.create(stripeClient.processPayment())
+          .expectNext(PaymentStatus.SUCCEEDED)
+          .verifyComplete();
+    }
+
+    assertThat(metrics.getNumberOfSuccessfulCalls()).isEqualTo(2);
+  }
+
+  @Test
+  void processPayment_refillFails_recordFailuresInCircuitBreaker() {
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .willReturn(serverError()));
+    var circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    var stripeClient = stripeClient(true, 10, 1, circuitBreakerRegistry);
+    var metrics = circuitBreakerRegistry.circuitBreaker("stripe-client").getMetrics();
+
+    // the payment fetches its own value and starts a refill, all three attempts of both fail
+    StepVerifier.create(stripeClient.processPayment())
+        .verifyError();
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> assertThat(metrics.getNumberOfFailedCalls()).isEqualTo(6));
+  }
+
+  @Test
+  void processPayment_circuitBreakerOpen_refuseBufferedValues() {
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("1"))
+        .willReturn(okJson("[2]")));
+    stripeServer.stubFor(get(urlPathEqualTo(RANDOM_PATH))
+        .withQueryParam("count", equalTo("10"))
+        .willReturn(okJson("[2, 4, 6, 8, 10, 12, 14, 16, 18, 20]")));
+    var circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    var stripeClient = stripeClient(true, 10, 1, circuitBreakerRegistry);
+    var circuitBreaker = circuitBreakerRegistry.circuitBreaker("stripe-client");
+
+    StepVerifier.create(stripeClient.processPayment())
+        .expectNext(PaymentStatus.SUCCEEDED)
+        .verifyComplete();
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls())
+            .isEqualTo(2));
+    circuitBreaker.transitionToOpenState();
+
+    StepVerifier.create(stripeClient.processPayment())
+        .verifyErrorMessage("Skipping request due to the circuit breaker opened");
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  private StripeClient stripeClient(boolean enabled, int batchSize, int lowWatermark) {
+    return stripeClient(enabled, batchSize, lowWatermark, CircuitBreakerRegistry.ofDefaults());
+  }
+
+  private StripeClient stripeClient(boolean enabled, int batchSize, int lowWatermark,
+      CircuitBreakerRegistry circuitBreakerRegistry) {
+    var stripeClientConfig = new StripeClientConfig();
+    stripeClientConfig.setEnabled(enabled);
+    stripeClientConfig.setBatchSize(batchSize);
+    stripeClientConfig.setLowWatermark(lowWatermark);
+    return new StripeClient(WebClient.builder(), stripeServer.baseUrl(), stripeClientConfig,
+        circuitBreakerRegistry, RetryRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+  }
+
+}
@@ -1,5 +1,6 @@
 package com.innowise.userservice.config;
 
+import com.innowise.auth.security.filter.JwtAuthenticationConverter;
 import com.innowise.auth.security.filter.JwtAuthenticationFilter;
 import com.innowise.auth.security.provider.AuthTokenProvider;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class SecurityConfig {
 
   private final AuthenticationManager authenticationManager;
   private final AuthTokenProvider authTokenProvider;
+  private final JwtAuthenticationConverter jwtAuthenticationConverter;
 
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) {
@@ -57,7 +59,8 @@ public class SecurityConfig {
         .addFilterAfter(new JwtAuthenticationFilter(
             requiresAuth,
             authenticationManager,
-            authTokenProvider
+            authTokenProvider,
+            jwtAuthenticationConverter
         ), LogoutFilter.class);
     return http.build();
   }